@@ -0,0 +1,154 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixtures shared by the benchmarks.
+ * Remote datasets are generated with the same shape and a similar size than the ones published by the update center.
+ */
+final class BenchmarkData {
+
+    /**
+     * Number of plugins in the generated datasets
+     */
+    static final int PLUGINS = 2000;
+
+    /**
+     * Number of released versions per plugin in the generated plugin versions dataset
+     */
+    static final int VERSIONS_PER_PLUGIN = 15;
+
+    private BenchmarkData() {}
+
+    /**
+     * Names of the generated plugins
+     * @return List of plugin names
+     */
+    static List<String> pluginNames() {
+        List<String> names = new ArrayList<>(PLUGINS);
+        for (int i = 0; i < PLUGINS; i++) {
+            // Mix of regular and API plugins
+            names.add(i % 10 == 0 ? "plugin-%04d-api".formatted(i) : "plugin-%04d".formatted(i));
+        }
+        return names;
+    }
+
+    /**
+     * Generate an update-center.json payload
+     * @return JSON string
+     */
+    static String updateCenterJson() {
+        Map<String, Object> plugins = new LinkedHashMap<>();
+        Map<String, Object> deprecations = new LinkedHashMap<>();
+        for (String name : pluginNames()) {
+            Map<String, Object> plugin = new LinkedHashMap<>();
+            plugin.put("name", name);
+            plugin.put("title", "The " + name + " plugin");
+            plugin.put("excerpt", "Provides integration of " + name + " with Jenkins. Long description of the plugin.");
+            plugin.put("version", "1.%d.%d".formatted(name.length(), name.hashCode() & 0xff));
+            plugin.put("requiredCore", "2.479.3");
+            plugin.put("releaseTimestamp", "2025-01-01T00:00:00.00Z");
+            plugin.put("scm", "https://github.com/jenkinsci/" + name + "-plugin");
+            plugin.put("defaultBranch", "main");
+            plugin.put("gav", "org.jenkins-ci.plugins:" + name + ":1.0");
+            plugin.put("url", "https://updates.jenkins.io/download/plugins/" + name + "/1.0/" + name + ".hpi");
+            plugin.put("sha256", "47DEQpj8HBSa+/TImW+5JCeuQeRkm5NMpJWZG3hSuFU=");
+            plugin.put("labels", labels(name));
+            plugin.put(
+                    "dependencies",
+                    List.of(
+                            Map.of("name", "structs", "optional", false, "version", "338.v848422169819"),
+                            Map.of("name", "credentials", "optional", true, "version", "1405.vb_cda_74a_f8974")));
+            plugin.put("developers", List.of(Map.of("developerId", "dev", "name", "Developer")));
+            plugins.put(name, plugin);
+            if (name.hashCode() % 25 == 0) {
+                deprecations.put(name, Map.of("url", "https://www.jenkins.io/deprecated/" + name));
+            }
+        }
+        return JsonUtils.toJson(Map.of("plugins", plugins, "deprecations", deprecations));
+    }
+
+    /**
+     * Generate a plugin-versions.json payload
+     * @return JSON string
+     */
+    static String pluginVersionsJson() {
+        Map<String, Object> plugins = new LinkedHashMap<>();
+        for (String name : pluginNames()) {
+            Map<String, Object> versions = new LinkedHashMap<>();
+            for (int v = 0; v < VERSIONS_PER_PLUGIN; v++) {
+                String version = "1." + v;
+                Map<String, Object> release = new LinkedHashMap<>();
+                release.put("name", name);
+                release.put("version", version);
+                release.put("buildDate", "2024-01-%02d".formatted(v + 1));
+                release.put("requiredCore", "2.479.3");
+                release.put("url", "https://updates.jenkins.io/download/plugins/" + name + "/" + version + "/");
+                release.put("sha256", "47DEQpj8HBSa+/TImW+5JCeuQeRkm5NMpJWZG3hSuFU=");
+                versions.put(version, release);
+            }
+            plugins.put(name, versions);
+        }
+        return JsonUtils.toJson(Map.of("plugins", plugins));
+    }
+
+    /**
+     * Read a resource of the benchmarks
+     * @param resource Resource name
+     * @return Resource content
+     */
+    static String resource(String resource) {
+        try (InputStream is = BenchmarkData.class.getClassLoader().getResourceAsStream(resource)) {
+            if (is == null) {
+                throw new IllegalArgumentException("Resource not found: " + resource);
+            }
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Copy a resource to a directory as pom.xml
+     * @param resource Resource name
+     * @param directory Target directory
+     * @return Path of the pom file
+     */
+    static Path writePom(String resource, Path directory) {
+        try {
+            Files.createDirectories(directory);
+            return Files.writeString(directory.resolve("pom.xml"), resource(resource));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Labels of a generated plugin
+     * @param name Plugin name
+     * @return Labels
+     */
+    private static List<String> labels(String name) {
+        List<String> labels = new ArrayList<>(List.of("scm", "pipeline"));
+        if (name.endsWith("-api")) {
+            labels.add("api-plugin");
+        }
+        if (name.hashCode() % 7 == 0) {
+            labels.add("adopt-this-plugin");
+        }
+        if (name.hashCode() % 11 == 0) {
+            labels.add("deprecated");
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,87 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.model.JDK;
+import io.jenkins.tools.pluginmodernizer.core.model.UpdateCenterData;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the file cache with a large dataset and a small plugin metadata entry
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheManagerBenchmark {
+
+    private Path cache;
+    private CacheManager cacheManager;
+    private UpdateCenterData updateCenterData;
+    private PluginMetadata pluginMetadata;
+
+    @Setup
+    public void setup() throws IOException {
+        cache = Files.createTempDirectory("cache-benchmark");
+        cacheManager = new CacheManager(cache);
+        cacheManager.init();
+
+        updateCenterData = JsonUtils.fromJson(BenchmarkData.updateCenterJson(), UpdateCenterData.class);
+        updateCenterData.setKey(CacheManager.UPDATE_CENTER_CACHE_KEY);
+        updateCenterData.setPath(cacheManager.root());
+        cacheManager.put(updateCenterData);
+
+        pluginMetadata = new PluginMetadata(cacheManager);
+        pluginMetadata.setPluginName("example");
+        pluginMetadata.setJenkinsVersion("2.479.3");
+        pluginMetadata.setParentVersion("5.7");
+        pluginMetadata.setJdks(Set.of(JDK.JAVA_17, JDK.JAVA_21));
+        pluginMetadata.setProperties(Map.of("jenkins.baseline", "2.479", "gitHubRepo", "jenkinsci/example-plugin"));
+        cacheManager.put(pluginMetadata);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(cache.toFile());
+    }
+
+    @Benchmark
+    public UpdateCenterData getUpdateCenter() {
+        return cacheManager.get(cacheManager.root(), CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.class);
+    }
+
+    @Benchmark
+    public void putUpdateCenter() {
+        cacheManager.put(updateCenterData);
+    }
+
+    @Benchmark
+    public PluginMetadata getPluginMetadata() {
+        return cacheManager.get(cacheManager.root(), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class);
+    }
+
+    @Benchmark
+    public void putPluginMetadata() {
+        cacheManager.put(pluginMetadata);
+    }
+}
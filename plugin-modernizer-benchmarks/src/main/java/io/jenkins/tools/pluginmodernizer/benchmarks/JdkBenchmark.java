@@ -0,0 +1,43 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import io.jenkins.tools.pluginmodernizer.core.model.JDK;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the JDK compatibility lookups
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JdkBenchmark {
+
+    private final List<String> jenkinsVersions =
+            List.of("1.532.3", "2.164.1", "2.222.4", "2.346.3", "2.361.4", "2.440.3", "2.479.3", "2.504.3");
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (String jenkinsVersion : jenkinsVersions) {
+            blackhole.consume(JDK.get(jenkinsVersion));
+        }
+    }
+
+    @Benchmark
+    public void minMax(Blackhole blackhole) {
+        blackhole.consume(JDK.min());
+        blackhole.consume(JDK.max());
+    }
+}
@@ -0,0 +1,59 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import io.jenkins.tools.pluginmodernizer.core.extractor.JenkinsfileVisitor;
+import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
+import io.jenkins.tools.pluginmodernizer.core.visitors.UpdateJenkinsFileVisitor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.groovy.GroovyParser;
+
+/**
+ * Benchmarks of the OpenRewrite visitors applied on Jenkinsfiles. Parsing is done once during setup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JenkinsfileBenchmark {
+
+    @Param({"jenkinsfiles/legacy.Jenkinsfile", "jenkinsfiles/modern.Jenkinsfile"})
+    private String jenkinsfile;
+
+    private SourceFile sourceFile;
+
+    @Setup
+    public void setup() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        sourceFile = GroovyParser.builder()
+                .build()
+                .parse(ctx, BenchmarkData.resource(jenkinsfile))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public PluginMetadata jenkinsfileVisitor() {
+        return new JenkinsfileVisitor().reduce(sourceFile, new PluginMetadata());
+    }
+
+    @Benchmark
+    public Tree updateJenkinsFileVisitor() {
+        return new UpdateJenkinsFileVisitor().visit(sourceFile, new InMemoryExecutionContext());
+    }
+}
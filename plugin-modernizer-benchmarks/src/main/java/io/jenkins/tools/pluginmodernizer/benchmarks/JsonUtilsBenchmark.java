@@ -0,0 +1,61 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import io.jenkins.tools.pluginmodernizer.core.model.PluginVersionData;
+import io.jenkins.tools.pluginmodernizer.core.model.UpdateCenterData;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of JSON (de)serialization of the remote datasets
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonUtilsBenchmark {
+
+    private String updateCenterJson;
+    private String pluginVersionsJson;
+    private UpdateCenterData updateCenterData;
+    private PluginVersionData pluginVersionData;
+
+    @Setup
+    public void setup() {
+        updateCenterJson = BenchmarkData.updateCenterJson();
+        pluginVersionsJson = BenchmarkData.pluginVersionsJson();
+        updateCenterData = JsonUtils.fromJson(updateCenterJson, UpdateCenterData.class);
+        pluginVersionData = JsonUtils.fromJson(pluginVersionsJson, PluginVersionData.class);
+    }
+
+    @Benchmark
+    public UpdateCenterData fromJsonUpdateCenter() {
+        return JsonUtils.fromJson(updateCenterJson, UpdateCenterData.class);
+    }
+
+    @Benchmark
+    public PluginVersionData fromJsonPluginVersions() {
+        return JsonUtils.fromJson(pluginVersionsJson, PluginVersionData.class);
+    }
+
+    @Benchmark
+    public String toJsonUpdateCenter() {
+        return JsonUtils.toJson(updateCenterData);
+    }
+
+    @Benchmark
+    public String toJsonPluginVersions() {
+        return JsonUtils.toJson(pluginVersionData);
+    }
+}
@@ -0,0 +1,91 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import io.jenkins.tools.pluginmodernizer.core.config.Config;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import io.jenkins.tools.pluginmodernizer.core.model.UpdateCenterData;
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the plugin service lookups for all plugins of the update center.
+ * The update center is served from the cache, like on a second run of the tool
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PluginServiceBenchmark {
+
+    private Path cache;
+    private PluginService pluginService;
+    private List<Plugin> plugins;
+
+    @Setup
+    public void setup() throws IOException {
+        cache = Files.createTempDirectory("plugin-service-benchmark");
+        Config config = Config.builder().withCachePath(cache).build();
+        CacheManager cacheManager = new CacheManager(cache);
+        cacheManager.init();
+
+        UpdateCenterData updateCenterData =
+                JsonUtils.fromJson(BenchmarkData.updateCenterJson(), UpdateCenterData.class);
+        updateCenterData.setKey(CacheManager.UPDATE_CENTER_CACHE_KEY);
+        updateCenterData.setPath(cacheManager.root());
+        cacheManager.put(updateCenterData);
+
+        pluginService = Guice.createInjector(new AbstractModule() {
+                    @Override
+                    protected void configure() {
+                        bind(Config.class).toInstance(config);
+                        bind(CacheManager.class).toInstance(cacheManager);
+                    }
+                })
+                .getInstance(PluginService.class);
+        plugins = BenchmarkData.pluginNames().stream()
+                .map(name -> Plugin.build(name).withConfig(config))
+                .toList();
+
+        // Load the dataset in memory
+        pluginService.getUpdateCenterData();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(cache.toFile());
+    }
+
+    @Benchmark
+    public void lookups(Blackhole blackhole) {
+        for (Plugin plugin : plugins) {
+            blackhole.consume(pluginService.existsInUpdateCenter(plugin));
+            blackhole.consume(pluginService.isDeprecated(plugin));
+            blackhole.consume(pluginService.isForAdoption(plugin));
+            blackhole.consume(pluginService.isApiPlugin(plugin));
+            blackhole.consume(pluginService.extractVersion(plugin));
+            blackhole.consume(pluginService.extractRepoName(plugin));
+        }
+    }
+}
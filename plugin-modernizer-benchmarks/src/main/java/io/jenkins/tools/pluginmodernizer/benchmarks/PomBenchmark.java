@@ -0,0 +1,73 @@
+package io.jenkins.tools.pluginmodernizer.benchmarks;
+
+import io.jenkins.tools.pluginmodernizer.core.model.PreconditionError;
+import io.jenkins.tools.pluginmodernizer.core.utils.StaticPomParser;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the static pom analysis done before any build
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PomBenchmark {
+
+    @Param({"poms/legacy-pom.xml", "poms/modern-pom.xml"})
+    private String pom;
+
+    private Path directory;
+    private String pomFile;
+    private StaticPomParser parser;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("pom-benchmark");
+        pomFile = BenchmarkData.writePom(pom, directory).toString();
+        parser = new StaticPomParser(pomFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Benchmark
+    public StaticPomParser parse() {
+        return new StaticPomParser(pomFile);
+    }
+
+    @Benchmark
+    public void preconditionErrors(Blackhole blackhole) {
+        for (PreconditionError error : PreconditionError.values()) {
+            blackhole.consume(error.isApplicable(parser));
+        }
+    }
+
+    @Benchmark
+    public void parseAndCheckPreconditionErrors(Blackhole blackhole) {
+        StaticPomParser snapshot = new StaticPomParser(pomFile);
+        for (PreconditionError error : PreconditionError.values()) {
+            blackhole.consume(error.isApplicable(snapshot));
+        }
+    }
+}
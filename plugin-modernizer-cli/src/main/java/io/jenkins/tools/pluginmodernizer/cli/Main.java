@@ -8,6 +8,7 @@ import io.jenkins.tools.pluginmodernizer.cli.command.RunCommand;
 import io.jenkins.tools.pluginmodernizer.cli.command.ValidateCommand;
 import io.jenkins.tools.pluginmodernizer.cli.command.VersionCommand;
 import io.jenkins.tools.pluginmodernizer.cli.options.GlobalOptions;
+import io.jenkins.tools.pluginmodernizer.core.jfr.FlightRecording;
 import org.slf4j.bridge.SLF4JBridgeHandler;
 import picocli.AutoComplete;
 import picocli.CommandLine;
@@ -47,6 +48,12 @@ public class Main {
         cmd.addMixin("globalOptions", globalOptions);
         CommandLine gen = cmd.getSubcommands().get("generate-completion");
         gen.getCommandSpec().usageMessage().hidden(true);
+        // Record the whole command, including validation, when requested
+        cmd.setExecutionStrategy(parseResult -> {
+            try (FlightRecording ignored = FlightRecording.start(globalOptions.getJfrRecording())) {
+                return new CommandLine.RunLast().execute(parseResult);
+            }
+        });
         System.exit(cmd.execute(args));
     }
 }
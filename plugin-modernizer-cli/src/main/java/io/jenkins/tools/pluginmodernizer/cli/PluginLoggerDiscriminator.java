@@ -7,34 +7,89 @@ import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Marker;
 
 public class PluginLoggerDiscriminator extends AbstractDiscriminator<ILoggingEvent> {
 
+    /**
+     * Log files resolved for the current global options. Called for each log event so files are only resolved
+     * once per plugin marker.
+     */
+    private volatile LogFiles logFiles;
+
     @Override
     public String getDiscriminatingValue(ILoggingEvent iLoggingEvent) {
+        LogFiles current = getLogFiles();
         List<Marker> markers = iLoggingEvent.getMarkerList();
 
-        Config.Builder builder = Config.builder();
-        GlobalOptions globalOptions = GlobalOptions.getInstance();
-        globalOptions.config(builder);
-        Config config = builder.build();
-
-        String cachePath = config.getCachePath().toString();
-
         if (markers == null || markers.isEmpty()) {
-            return Path.of(cachePath, "modernizer.logs").toString();
+            return current.defaultLogFile();
         }
 
         final Marker marker = markers.get(0);
-        String markerName = marker.getName();
-        Plugin plugin = Plugin.build(markerName);
-
-        return Path.of(cachePath, plugin.getLogFile().toString()).toString();
+        return current.getLogFile(marker.getName());
     }
 
     @Override
     public String getKey() {
         return "filename";
     }
+
+    /**
+     * Get the log files for the current global options, resolving them again only if the options changed
+     * @return The log files
+     */
+    private LogFiles getLogFiles() {
+        GlobalOptions globalOptions = GlobalOptions.getInstance();
+        Path cachePathOption = globalOptions.getCachePathOption();
+        LogFiles current = logFiles;
+        if (current == null
+                || current.globalOptions() != globalOptions
+                || current.cachePathOption() != cachePathOption) {
+            Config.Builder builder = Config.builder();
+            globalOptions.config(builder);
+            Path cachePath = builder.build().getCachePath();
+            current = new LogFiles(
+                    globalOptions,
+                    cachePathOption,
+                    cachePath,
+                    cachePath.resolve("modernizer.logs").toString(),
+                    new ConcurrentHashMap<>());
+            logFiles = current;
+        }
+        return current;
+    }
+
+    /**
+     * Log files of a cache path
+     * @param globalOptions The global options the cache path was resolved from
+     * @param cachePathOption The cache path option the cache path was resolved from
+     * @param cachePath The cache path
+     * @param defaultLogFile The log file for events without plugin marker
+     * @param pluginLogFiles The log file of each plugin marker
+     */
+    private record LogFiles(
+            GlobalOptions globalOptions,
+            Path cachePathOption,
+            Path cachePath,
+            String defaultLogFile,
+            Map<String, String> pluginLogFiles) {
+
+        /**
+         * Get the log file of a plugin marker
+         * @param markerName The marker name
+         * @return The log file
+         */
+        String getLogFile(String markerName) {
+            String logFile = pluginLogFiles.get(markerName);
+            if (logFile == null) {
+                Plugin plugin = Plugin.build(markerName);
+                logFile = cachePath.resolve(plugin.getLogFile()).toString();
+                pluginLogFiles.putIfAbsent(markerName, logFile);
+            }
+            return logFile;
+        }
+    }
 }
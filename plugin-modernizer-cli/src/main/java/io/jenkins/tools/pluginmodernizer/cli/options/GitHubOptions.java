@@ -3,6 +3,7 @@ package io.jenkins.tools.pluginmodernizer.cli.options;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
 import java.nio.file.Path;
+import java.time.Duration;
 import picocli.CommandLine;
 
 /**
@@ -47,6 +48,11 @@ public class GitHubOptions implements IOption {
                     "GitHub App Installation ID for the target repositories. If set, the app installation must be done on the given github owner (personal or organization).")
     public Long githubAppTargetInstallationId;
 
+    @CommandLine.Option(
+            names = {"--fork-readiness-timeout"},
+            description = "Seconds to wait for a new fork to be ready before pushing to it. Defaults to 120.")
+    private long forkReadinessTimeout = Settings.FORK_READINESS_TIMEOUT.toSeconds();
+
     /**
      * Create a new config build for the global options
      */
@@ -56,6 +62,7 @@ public class GitHubOptions implements IOption {
                 .withGitHubAppId(githubAppId)
                 .withGitHubAppSourceInstallationId(githubAppSourceInstallationId)
                 .withGitHubAppTargetInstallationId(githubAppTargetInstallationId)
-                .withSshPrivateKey(sshPrivateKey);
+                .withSshPrivateKey(sshPrivateKey)
+                .withForkReadinessTimeout(Duration.ofSeconds(forkReadinessTimeout));
     }
 }
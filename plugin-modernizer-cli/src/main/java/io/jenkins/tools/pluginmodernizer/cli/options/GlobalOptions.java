@@ -5,6 +5,8 @@ import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
 import picocli.CommandLine;
 
 /**
@@ -19,16 +21,22 @@ import picocli.CommandLine;
         commandListHeading = "%nCommands:%n")
 public class GlobalOptions implements IOption {
 
-    private static GlobalOptions instance;
+    private static volatile GlobalOptions instance;
 
     private GlobalOptions() {}
 
-    // Static method to get the singleton instance
-    public static synchronized GlobalOptions getInstance() {
-        if (instance == null) {
-            instance = new GlobalOptions();
+    // Static method to get the singleton instance. Lock free once created as it's called for each log event
+    public static GlobalOptions getInstance() {
+        GlobalOptions current = instance;
+        if (current != null) {
+            return current;
+        }
+        synchronized (GlobalOptions.class) {
+            if (instance == null) {
+                instance = new GlobalOptions();
+            }
+            return instance;
         }
-        return instance;
     }
     // reset to default
     public static void reset() {
@@ -50,6 +58,12 @@ public class GlobalOptions implements IOption {
             description = "Path to the cache directory.")
     private Path cachePath = Settings.DEFAULT_CACHE_PATH;
 
+    @CommandLine.Option(
+            names = {"--cache-max-age"},
+            description = "Age after which a cached dataset is downloaded again, as <cache key>=<ISO-8601 duration>. "
+                    + "For example plugin-versions.json=PT6H. Can be repeated.")
+    private Map<String, Duration> cacheMaxAges;
+
     @CommandLine.Option(
             names = {"--maven-home"},
             description = "Path to the Maven Home directory.")
@@ -60,20 +74,65 @@ public class GlobalOptions implements IOption {
             description = "Path to the Maven local repository.")
     private Path mavenLocalRepo = Settings.DEFAULT_MAVEN_LOCAL_REPO;
 
+    @CommandLine.Option(
+            names = {"--parallelism"},
+            description = "Number of plugins to process concurrently. Defaults to 1 (sequential).")
+    private int parallelism = 1;
+
+    @CommandLine.Option(
+            names = {"--mvnd-home"},
+            description = "Path to a Maven Daemon (mvnd) installation. When set, builds run on warm daemon JVMs.")
+    private Path mavenDaemonHome;
+
+    @CommandLine.Option(
+            names = {"--clone-depth"},
+            description = "Number of commits to fetch when cloning repositories. Defaults to 0 (full history).")
+    private int cloneDepth = 0;
+
+    @CommandLine.Option(
+            names = {"--report-path"},
+            description = "Directory of the run performance reports. Defaults to the reports directory of the cache.")
+    private Path reportPath;
+
+    @CommandLine.Option(
+            names = {"--jfr-recording"},
+            description = "File receiving a JDK Flight Recorder recording of the whole run.")
+    private Path jfrRecording;
+
+    /**
+     * Get the cache path option as given on the command line
+     * @return The cache path option
+     */
+    public Path getCachePathOption() {
+        return cachePath;
+    }
+
+    /**
+     * Get the file receiving the flight recording of the run
+     * @return The recording file or null if the run is not recorded
+     */
+    public Path getJfrRecording() {
+        return jfrRecording;
+    }
+
     /**
      * Create a new config build for the global options
      */
     @Override
     public void config(Config.Builder builder) {
         Config.setDebug(debug);
+        Path effectiveCachePath =
+                !cachePath.endsWith(Settings.CACHE_SUBDIR) ? cachePath.resolve(Settings.CACHE_SUBDIR) : cachePath;
         builder.withVersion(getVersion())
-                .withCachePath(
-                        !cachePath.endsWith(Settings.CACHE_SUBDIR)
-                                ? cachePath.resolve(Settings.CACHE_SUBDIR)
-                                : cachePath)
+                .withCachePath(effectiveCachePath)
+                .withCacheMaxAges(cacheMaxAges)
                 .withMavenHome(mavenHome)
                 .withMavenLocalRepo(mavenLocalRepo)
-                .withAllowDeprecatedPlugins(allowDeprecatedPlugins);
+                .withAllowDeprecatedPlugins(allowDeprecatedPlugins)
+                .withParallelism(parallelism)
+                .withMavenDaemonHome(mavenDaemonHome)
+                .withCloneDepth(cloneDepth)
+                .withReportPath(reportPath != null ? reportPath : effectiveCachePath.resolve(Settings.REPORTS_SUBDIR));
     }
 
     /**
@@ -286,6 +286,7 @@ public class CommandLineITCase {
 
         // Junit attachment with logs file for the plugin build
         System.out.printf("[[ATTACHMENT|%s]]%n", getMavenInvokerLog(plugin));
+        System.out.printf("[[ATTACHMENT|%s]]%n", getMavenLog(plugin));
         System.out.printf("[[ATTACHMENT|%s]]%n", logFile.toAbsolutePath());
 
         try (GitHubServerContainer gitRemote = new GitHubServerContainer(wmRuntimeInfo, keysPath, plugin, "main")) {
@@ -340,6 +341,7 @@ public class CommandLineITCase {
 
         // Junit attachment with logs file for the plugin build
         System.out.printf("[[ATTACHMENT|%s]]%n", getMavenInvokerLog(plugin));
+        System.out.printf("[[ATTACHMENT|%s]]%n", getMavenLog(plugin));
         System.out.printf("[[ATTACHMENT|%s]]%n", logFile1.toAbsolutePath());
         System.out.printf("[[ATTACHMENT|%s]]%n", logFile2.toAbsolutePath());
 
@@ -401,6 +403,7 @@ public class CommandLineITCase {
 
         // Junit attachment with logs file for the plugin build
         System.out.printf("[[ATTACHMENT|%s]]%n", getMavenInvokerLog(plugin));
+        System.out.printf("[[ATTACHMENT|%s]]%n", getMavenLog(plugin));
         System.out.printf("[[ATTACHMENT|%s]]%n", logFile.toAbsolutePath());
 
         try (GitHubServerContainer gitRemote = new GitHubServerContainer(wmRuntimeInfo, keysPath, plugin, "main")) {
@@ -474,6 +477,7 @@ public class CommandLineITCase {
 
         // Junit attachment with logs file for the plugin build
         System.out.printf("[[ATTACHMENT|%s]]%n", getMavenInvokerLog(plugin));
+        System.out.printf("[[ATTACHMENT|%s]]%n", getMavenLog(plugin));
         System.out.printf("[[ATTACHMENT|%s]]%n", logFile.toAbsolutePath());
 
         try (GitHubServerContainer gitRemote = new GitHubServerContainer(wmRuntimeInfo, keysPath, plugin, "main")) {
@@ -530,6 +534,7 @@ public class CommandLineITCase {
 
             // Junit attachment with logs file for the plugin build
             System.out.printf("[[ATTACHMENT|%s]]%n", getMavenInvokerLog(plugin));
+            System.out.printf("[[ATTACHMENT|%s]]%n", getMavenLog(plugin));
             System.out.printf("[[ATTACHMENT|%s]]%n", logFile.toAbsolutePath());
 
             Invoker invoker = buildInvoker();
@@ -579,6 +584,7 @@ public class CommandLineITCase {
 
             // Junit attachment with logs file for the plugin build
             System.out.printf("[[ATTACHMENT|%s]]%n", getMavenInvokerLog(plugin));
+            System.out.printf("[[ATTACHMENT|%s]]%n", getMavenLog(plugin));
             System.out.printf("[[ATTACHMENT|%s]]%n", logFile.toAbsolutePath());
 
             Invoker invoker = buildInvoker();
@@ -620,6 +626,7 @@ public class CommandLineITCase {
 
             // Junit attachment with logs file for the plugin build
             System.out.printf("[[ATTACHMENT|%s]]%n", getMavenInvokerLog(plugin));
+            System.out.printf("[[ATTACHMENT|%s]]%n", getMavenLog(plugin));
             System.out.printf("[[ATTACHMENT|%s]]%n", logFile.toAbsolutePath());
 
             Invoker invoker = buildInvoker();
@@ -761,6 +768,17 @@ public class CommandLineITCase {
                 .resolve(Plugin.build(plugin).getLogFile());
     }
 
+    /**
+     * Get the location of the maven output log for the given plugin
+     * @param plugin The plugin
+     * @return the path
+     */
+    private Path getMavenLog(String plugin) {
+        return cachePath
+                .resolve("jenkins-plugin-modernizer-cli")
+                .resolve(Plugin.build(plugin).getMavenLogFile());
+    }
+
     /**
      * Get the URL arguments
      * @param wmRuntimeInfo The WireMock runtime info
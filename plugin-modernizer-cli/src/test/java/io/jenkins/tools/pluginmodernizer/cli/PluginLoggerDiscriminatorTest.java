@@ -1,6 +1,8 @@
 package io.jenkins.tools.pluginmodernizer.cli;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -65,6 +67,24 @@ public class PluginLoggerDiscriminatorTest {
         assertEquals(expectedValue, discriminatingValue);
     }
 
+    @Test
+    void testGetDiscriminatingValueIsResolvedOncePerMarker() {
+        PluginLoggerDiscriminator discriminator = new PluginLoggerDiscriminator();
+        ILoggingEvent event = mock(ILoggingEvent.class);
+        Marker marker = mock(Marker.class);
+        when(marker.getName()).thenReturn("testMarker");
+        when(event.getMarkerList()).thenReturn(Collections.singletonList(marker));
+
+        String first = discriminator.getDiscriminatingValue(event);
+        assertSame(first, discriminator.getDiscriminatingValue(event));
+
+        // Resolved again for new options
+        GlobalOptions.reset();
+        String afterReset = discriminator.getDiscriminatingValue(event);
+        assertNotSame(first, afterReset);
+        assertEquals(first, afterReset);
+    }
+
     @Test
     void testGetKey() {
         PluginLoggerDiscriminator discriminator = new PluginLoggerDiscriminator();
@@ -2,6 +2,7 @@ package io.jenkins.tools.pluginmodernizer.cli.options;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
@@ -32,6 +33,7 @@ public class GlobalOptionsTest {
                 Settings.DEFAULT_MAVEN_LOCAL_REPO,
                 config.getMavenLocalRepo(),
                 "Maven local repo should be the default");
+        assertNull(globalOptions.getJfrRecording(), "Run should not be recorded by default");
     }
 
     @Test
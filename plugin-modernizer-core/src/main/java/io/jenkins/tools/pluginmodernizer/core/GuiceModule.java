@@ -22,7 +22,7 @@ public class GuiceModule extends AbstractModule {
     protected void configure() {
         bind(Invoker.class).to(DefaultInvoker.class);
         bind(Config.class).toInstance(config);
-        bind(CacheManager.class).toInstance(new CacheManager(config.getCachePath()));
+        bind(CacheManager.class).toInstance(new CacheManager(config.getCachePath(), config.getCacheMaxAges()));
         bind(PluginService.class).toInstance(new PluginService());
         bind(GHService.class).toInstance(new GHService());
         bind(JdkFetcher.class).toInstance(new JdkFetcher(config.getCachePath()));
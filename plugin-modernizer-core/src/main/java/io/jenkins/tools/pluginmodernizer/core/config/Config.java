@@ -4,7 +4,9 @@ import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
 import java.net.URL;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 public class Config {
 
@@ -25,6 +27,7 @@ public class Config {
     private final URL optOutPlugins;
     private final URL githubApiUrl;
     private final Path cachePath;
+    private final Map<String, Duration> cacheMaxAges;
     private final Path mavenHome;
     private final Path mavenLocalRepo;
     private final boolean skipMetadata;
@@ -37,6 +40,11 @@ public class Config {
     private final Long githubAppSourceInstallationId;
     private final Long githubAppTargetInstallationId;
     private final Path sshPrivateKey;
+    private final int parallelism;
+    private final Path mavenDaemonHome;
+    private final int cloneDepth;
+    private final Path reportPath;
+    private final Duration forkReadinessTimeout;
 
     private Config(
             String version,
@@ -54,6 +62,7 @@ public class Config {
             URL optOutPlugins,
             URL githubApiUrl,
             Path cachePath,
+            Map<String, Duration> cacheMaxAges,
             Path mavenHome,
             Path mavenLocalRepo,
             boolean skipMetadata,
@@ -61,7 +70,12 @@ public class Config {
             boolean dryRun,
             boolean draft,
             boolean removeForks,
-            boolean allowDeprecatedPlugins) {
+            boolean allowDeprecatedPlugins,
+            int parallelism,
+            Path mavenDaemonHome,
+            int cloneDepth,
+            Path reportPath,
+            Duration forkReadinessTimeout) {
         this.version = version;
         this.githubOwner = githubOwner;
         this.githubAppId = githubAppId;
@@ -77,6 +91,7 @@ public class Config {
         this.optOutPlugins = optOutPlugins;
         this.githubApiUrl = githubApiUrl;
         this.cachePath = cachePath;
+        this.cacheMaxAges = cacheMaxAges;
         this.mavenHome = mavenHome;
         this.mavenLocalRepo = mavenLocalRepo;
         this.skipMetadata = skipMetadata;
@@ -85,6 +100,11 @@ public class Config {
         this.draft = draft;
         this.removeForks = removeForks;
         this.allowDeprecatedPlugins = allowDeprecatedPlugins;
+        this.parallelism = parallelism;
+        this.mavenDaemonHome = mavenDaemonHome;
+        this.cloneDepth = cloneDepth;
+        this.reportPath = reportPath;
+        this.forkReadinessTimeout = forkReadinessTimeout;
     }
 
     public String getVersion() {
@@ -163,6 +183,14 @@ public class Config {
         return cachePath.toAbsolutePath();
     }
 
+    /**
+     * Return the age after which cached datasets are downloaded again, by cache key
+     * @return The configured max ages. Datasets not listed use the default of the cache
+     */
+    public Map<String, Duration> getCacheMaxAges() {
+        return cacheMaxAges;
+    }
+
     public Path getMavenHome() {
         if (mavenHome == null) {
             return null;
@@ -205,6 +233,52 @@ public class Config {
         return allowDeprecatedPlugins;
     }
 
+    /**
+     * Return the number of plugins processed concurrently
+     * @return The parallelism (1 means sequential processing)
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Return the Maven Daemon (mvnd) home used to run builds on warm JVMs
+     * @return The mvnd home or null if builds are forked with plain Maven
+     */
+    public Path getMavenDaemonHome() {
+        if (mavenDaemonHome == null) {
+            return null;
+        }
+        return mavenDaemonHome.toAbsolutePath();
+    }
+
+    /**
+     * Return the number of commits fetched from the default branch of cloned repositories
+     * @return The depth or 0 to fetch the full history
+     */
+    public int getCloneDepth() {
+        return cloneDepth;
+    }
+
+    /**
+     * Return the directory receiving the performance report of each run
+     * @return The report directory or null if no report is written
+     */
+    public Path getReportPath() {
+        if (reportPath == null) {
+            return null;
+        }
+        return reportPath.toAbsolutePath();
+    }
+
+    /**
+     * Return how long to wait for a new fork to be ready before pushing to it
+     * @return The timeout
+     */
+    public Duration getForkReadinessTimeout() {
+        return forkReadinessTimeout;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -225,6 +299,7 @@ public class Config {
         private URL optOutPlugins = Settings.OPT_OUT_PLUGINS_URL;
         private URL githubApiUrl = Settings.GITHUB_API_URL;
         private Path cachePath = Settings.DEFAULT_CACHE_PATH;
+        private Map<String, Duration> cacheMaxAges = Map.of();
         private Path mavenHome = Settings.DEFAULT_MAVEN_HOME;
         private Path mavenLocalRepo = Settings.DEFAULT_MAVEN_LOCAL_REPO;
         private boolean skipMetadata = false;
@@ -233,6 +308,11 @@ public class Config {
         private boolean draft = false;
         public boolean removeForks = false;
         private boolean allowDeprecatedPlugins = false;
+        private int parallelism = 1;
+        private Path mavenDaemonHome;
+        private int cloneDepth = 0;
+        private Path reportPath;
+        private Duration forkReadinessTimeout = Settings.FORK_READINESS_TIMEOUT;
 
         public Builder withVersion(String version) {
             this.version = version;
@@ -323,6 +403,13 @@ public class Config {
             return this;
         }
 
+        public Builder withCacheMaxAges(Map<String, Duration> cacheMaxAges) {
+            if (cacheMaxAges != null) {
+                this.cacheMaxAges = Map.copyOf(cacheMaxAges);
+            }
+            return this;
+        }
+
         public Builder withMavenHome(Path mavenHome) {
             if (mavenHome != null) {
                 this.mavenHome = mavenHome;
@@ -367,6 +454,37 @@ public class Config {
             return this;
         }
 
+        public Builder withParallelism(int parallelism) {
+            if (parallelism > 0) {
+                this.parallelism = parallelism;
+            }
+            return this;
+        }
+
+        public Builder withMavenDaemonHome(Path mavenDaemonHome) {
+            this.mavenDaemonHome = mavenDaemonHome;
+            return this;
+        }
+
+        public Builder withCloneDepth(int cloneDepth) {
+            if (cloneDepth >= 0) {
+                this.cloneDepth = cloneDepth;
+            }
+            return this;
+        }
+
+        public Builder withReportPath(Path reportPath) {
+            this.reportPath = reportPath;
+            return this;
+        }
+
+        public Builder withForkReadinessTimeout(Duration forkReadinessTimeout) {
+            if (forkReadinessTimeout != null && !forkReadinessTimeout.isNegative()) {
+                this.forkReadinessTimeout = forkReadinessTimeout;
+            }
+            return this;
+        }
+
         public Config build() {
             return new Config(
                     version,
@@ -384,6 +502,7 @@ public class Config {
                     optOutPlugins,
                     githubApiUrl,
                     cachePath,
+                    cacheMaxAges,
                     mavenHome,
                     mavenLocalRepo,
                     skipMetadata,
@@ -391,7 +510,12 @@ public class Config {
                     dryRun,
                     draft,
                     removeForks,
-                    allowDeprecatedPlugins);
+                    allowDeprecatedPlugins,
+                    parallelism,
+                    mavenDaemonHome,
+                    cloneDepth,
+                    reportPath,
+                    forkReadinessTimeout);
         }
     }
 }
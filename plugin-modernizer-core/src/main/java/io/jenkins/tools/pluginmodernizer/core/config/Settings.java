@@ -13,7 +13,11 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Properties;
 import java.util.function.Predicate;
@@ -58,6 +62,17 @@ public class Settings {
 
     public static final String GITHUB_METADATA_REPOSITORY = "metadata-plugin-modernizer";
 
+    /**
+     * Bare repository under the cache root holding the objects shared by all clones
+     * Clones reference its objects through git alternates, so it must never be pruned or garbage collected
+     */
+    public static final String GIT_OBJECT_STORE = "git-objects.git";
+
+    /**
+     * Directory under the cache root receiving the run reports
+     */
+    public static final String REPORTS_SUBDIR = "reports";
+
     public static final String ORGANIZATION = getTargetOrganisation();
 
     public static final String METADATA_ORGANISATION = getMetadataTargetOrganisation();
@@ -66,8 +81,17 @@ public class Settings {
 
     public static final String RECIPE_FQDN_PREFIX = "io.jenkins.tools.pluginmodernizer";
 
+    /**
+     * SHA-256 of the recipes definition. Part of the key of metadata cached for a plugin revision
+     */
+    public static final String RECIPES_DIGEST = getRecipesDigest();
+
     public static final Double PLUGIN_LOW_SCORE_THRESHOLD = 80.0;
 
+    public static final Duration DATASET_PREFETCH_TIMEOUT = Duration.ofMinutes(2);
+
+    public static final Duration FORK_READINESS_TIMEOUT = Duration.ofMinutes(2);
+
     public static final Predicate<String> JENKINS_VERSION_LTS_PATTERN =
             Pattern.compile("^\\d\\.(\\d+)\\.\\d$").asPredicate();
 
@@ -193,6 +217,18 @@ public class Settings {
         return Path.of(mavenLocalRepo);
     }
 
+    private static String getRecipesDigest() {
+        try (InputStream inputStream = Settings.class.getResourceAsStream("/" + Settings.RECIPE_DATA_YAML_PATH)) {
+            if (inputStream == null) {
+                throw new ModernizerException("Recipes not found at " + Settings.RECIPE_DATA_YAML_PATH);
+            }
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(inputStream.readAllBytes()));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new ModernizerException("Error computing recipes digest", e);
+        }
+    }
+
     private static String getRewritePluginVersion() {
         return readProperty("openrewrite.maven.plugin.version", "versions.properties");
     }
@@ -116,6 +116,21 @@ public class ModernizationMetadata extends CacheEntry<ModernizationMetadata> {
      */
     private Integer changedFiles;
 
+    /**
+     * Duration in milliseconds of each processing phase run before the metadata was collected
+     */
+    private Map<String, Long> phaseDurations;
+
+    /**
+     * Exit codes of the Maven executions in order. Goals are left out as they contain local paths
+     */
+    private List<Integer> mavenExitCodes;
+
+    /**
+     * Bytes of git data downloaded for the plugin
+     */
+    private Long bytesFetched;
+
     /**
      * Create a new modernization metadata
      * Store the metadata in the relative target directory of current folder
@@ -348,4 +363,28 @@ public class ModernizationMetadata extends CacheEntry<ModernizationMetadata> {
     public void setChangedFiles(Integer changedFiles) {
         this.changedFiles = changedFiles;
     }
+
+    public Map<String, Long> getPhaseDurations() {
+        return phaseDurations;
+    }
+
+    public void setPhaseDurations(Map<String, Long> phaseDurations) {
+        this.phaseDurations = phaseDurations;
+    }
+
+    public List<Integer> getMavenExitCodes() {
+        return mavenExitCodes;
+    }
+
+    public void setMavenExitCodes(List<Integer> mavenExitCodes) {
+        this.mavenExitCodes = mavenExitCodes;
+    }
+
+    public Long getBytesFetched() {
+        return bytesFetched;
+    }
+
+    public void setBytesFetched(Long bytesFetched) {
+        this.bytesFetched = bytesFetched;
+    }
 }
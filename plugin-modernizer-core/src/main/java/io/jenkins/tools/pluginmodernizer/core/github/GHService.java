@@ -2,28 +2,48 @@ package io.jenkins.tools.pluginmodernizer.core.github;
 
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.jfr.GitOperationEvent;
 import io.jenkins.tools.pluginmodernizer.core.model.DiffStats;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.PluginProcessingException;
 import io.jenkins.tools.pluginmodernizer.core.model.RepoType;
 import io.jenkins.tools.pluginmodernizer.core.utils.JWTUtils;
+import io.jenkins.tools.pluginmodernizer.core.utils.SingleFlightCache;
 import jakarta.inject.Inject;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.apache.sshd.client.SshClient;
 import org.apache.sshd.common.keyprovider.FileKeyPairProvider;
 import org.apache.sshd.git.transport.GitSshdSessionFactory;
 import org.eclipse.jgit.api.CommitCommand;
+import org.eclipse.jgit.api.CreateBranchCommand;
+import org.eclipse.jgit.api.FetchCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.ResetCommand;
 import org.eclipse.jgit.api.Status;
@@ -43,6 +63,7 @@ import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
 import org.eclipse.jgit.transport.CredentialItem;
@@ -67,6 +88,8 @@ import org.kohsuke.github.GHRepositoryForkBuilder;
 import org.kohsuke.github.GHUser;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.HttpException;
+import org.kohsuke.github.connector.GitHubConnector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,24 +105,103 @@ public class GHService {
 
     private static final Set<String> ALLOWED_METADATA_TAGS = Set.of("chore", "metadata");
 
+    /**
+     * Branch used by older versions of the tool for all recipes
+     */
+    private static final String LEGACY_BRANCH_NAME = "plugin-modernizer-tool";
+
+    /**
+     * First delay between two checks of a new fork. Doubled after each check
+     */
+    private static final Duration FORK_READINESS_INITIAL_BACKOFF = Duration.ofMillis(500);
+
+    /**
+     * Budget of the requests authenticated as the GitHub App
+     */
+    private static final String APP_BUDGET = "app";
+
+    /**
+     * Budget of the requests authenticated with the personal token
+     */
+    private static final String TOKEN_BUDGET = "token";
+
+    /**
+     * Longest delay between two checks of a new fork
+     */
+    private static final Duration FORK_READINESS_MAX_BACKOFF = Duration.ofSeconds(10);
+
+    /**
+     * Create forks in the background without holding a platform thread while waiting for GitHub
+     */
+    private static final ExecutorService FORK_EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("plugin-modernizer-fork-", 0).factory());
+
     @Inject
     private Config config;
 
     /**
      * The GitHub client
      */
-    private GitHub github;
+    private volatile GitHub github;
 
     /**
      * The GitHub App if connected by GitHub App
      */
-    private GHApp app;
+    private volatile GHApp app;
 
     /**
      * If the authentication is done using SSH key
      */
     private boolean sshKeyAuth = false;
 
+    /**
+     * Guard the creation of the shared object store and serialize the fetches into it
+     */
+    private final Object objectStoreLock = new Object();
+
+    /**
+     * Repositories looked up by full name (owner/name) with the current client
+     */
+    private final SingleFlightCache<String, GHRepository> repositories = new SingleFlightCache<>();
+
+    /**
+     * Organizations looked up by login with the current client. Null for a user account
+     */
+    private final SingleFlightCache<String, GHOrganization> organizations = new SingleFlightCache<>();
+
+    /**
+     * User of the current client
+     */
+    private final SingleFlightCache<String, GHUser> currentUser = new SingleFlightCache<>();
+
+    /**
+     * Schedule the GitHub API requests according to the rate limits, by budget. The GitHub App, each installation
+     * and the personal token have their own budget, so their rate limit headers must not update the same buckets
+     */
+    private final Map<String, GitHubRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    /**
+     * Rate limiter of the budget of the current client. The personal token one until connected
+     */
+    private volatile GitHubRateLimiter rateLimiter = getRateLimiter(TOKEN_BUDGET);
+
+    /**
+     * A fork started in the background
+     * @param repository The fork
+     * @param created True if the fork was created by this run, false if it already existed
+     */
+    private record BackgroundFork(GHRepository repository, boolean created) {}
+
+    /**
+     * Forks of plugins being created in the background
+     */
+    private final Map<Plugin, CompletableFuture<BackgroundFork>> pendingForks = new ConcurrentHashMap<>();
+
+    /**
+     * Open pull requests looked up by target repository and head (owner:branch)
+     */
+    private final SingleFlightCache<String, List<GHPullRequest>> pullRequests = new SingleFlightCache<>();
+
     /**
      * Validate the configuration of the GHService
      */
@@ -132,7 +234,7 @@ public class GHService {
     /**
      * Connect to GitHub using the GitHub auth token
      */
-    public void connect() {
+    public synchronized void connect() {
         if (isConnected()) {
             return;
         }
@@ -156,12 +258,16 @@ public class GHService {
                 String jwtToken = JWTUtils.getJWT(config, Settings.GITHUB_APP_PRIVATE_KEY_FILE);
 
                 // Get the GitHub App
-                this.app = new GitHubBuilder().withJwtToken(jwtToken).build().getApp();
+                this.app = newGitHubBuilder(getRateLimiter(APP_BUDGET))
+                        .withJwtToken(jwtToken)
+                        .build()
+                        .getApp();
                 GHAppInstallationToken appInstallationToken = this.app
                         .getInstallationById(config.getGithubAppSourceInstallationId())
                         .createToken()
                         .create();
-                github = new GitHubBuilder()
+                rateLimiter = getRateLimiter(installationBudget(config.getGithubAppSourceInstallationId()));
+                github = newGitHubBuilder(rateLimiter)
                         .withEndpoint(config.getGithubApiUrl().toString())
                         .withAppInstallationToken(appInstallationToken.getToken())
                         .build();
@@ -170,7 +276,8 @@ public class GHService {
             // Connect with token
             else {
                 LOG.debug("Connecting to GitHub using token...");
-                github = new GitHubBuilder()
+                rateLimiter = getRateLimiter(TOKEN_BUDGET);
+                github = newGitHubBuilder(rateLimiter)
                         .withEndpoint(config.getGithubApiUrl().toString())
                         .withOAuthToken(Settings.GITHUB_TOKEN)
                         .build();
@@ -210,7 +317,7 @@ public class GHService {
      *
      * @param installationId The installation ID
      */
-    public void refreshToken(Long installationId) {
+    public synchronized void refreshToken(Long installationId) {
         if (installationId == null) {
             LOG.debug("Installation ID is not set. Skipping token refresh");
             return;
@@ -220,13 +327,20 @@ public class GHService {
         }
         try {
             String jwtToken = JWTUtils.getJWT(config, Settings.GITHUB_APP_PRIVATE_KEY_FILE);
-            GHApp app = new GitHubBuilder().withJwtToken(jwtToken).build().getApp();
+            GHApp app = newGitHubBuilder(getRateLimiter(APP_BUDGET))
+                    .withJwtToken(jwtToken)
+                    .build()
+                    .getApp();
             GHAppInstallationToken appInstallationToken =
                     app.getInstallationById(installationId).createToken().create();
-            github = new GitHubBuilder()
+            GitHubRateLimiter installationRateLimiter = getRateLimiter(installationBudget(installationId));
+            github = newGitHubBuilder(installationRateLimiter)
                     .withAppInstallationToken(appInstallationToken.getToken())
                     .build();
+            rateLimiter = installationRateLimiter;
             this.app = app;
+            // Objects are bound to the client that loaded them
+            clearLookups();
             LOG.debug("Refreshed token for GitHub App installation ID {}", installationId);
         } catch (IOException e) {
             throw new ModernizerException("Failed to refresh token", e);
@@ -242,9 +356,9 @@ public class GHService {
     public GHRepository getRepository(Plugin plugin, RepoType repoType) {
         try {
             if (repoType == RepoType.PLUGIN) {
-                return github.getRepository(Settings.ORGANIZATION + "/" + plugin.getRepositoryName());
+                return lookupRepository(Settings.ORGANIZATION + "/" + plugin.getRepositoryName());
             } else {
-                return github.getRepository(Settings.METADATA_ORGANISATION + "/" + Settings.GITHUB_METADATA_REPOSITORY);
+                return lookupRepository(Settings.METADATA_ORGANISATION + "/" + Settings.GITHUB_METADATA_REPOSITORY);
             }
         } catch (IOException e) {
             throw new PluginProcessingException("Failed to get" + repoType.getType() + "repository", e, plugin);
@@ -265,15 +379,36 @@ public class GHService {
         }
         try {
             if (repoType == RepoType.PLUGIN) {
-                return github.getRepository(getGithubOwner() + "/" + plugin.getRepositoryName());
+                return lookupRepository(getGithubOwner() + "/" + plugin.getRepositoryName());
             } else {
-                return github.getRepository(getGithubOwner() + "/" + Plugin.METADATA_REPOSITORY_NAME);
+                return lookupRepository(getGithubOwner() + "/" + Plugin.METADATA_REPOSITORY_NAME);
             }
         } catch (IOException e) {
             throw new PluginProcessingException("Failed to get" + repoType.getType() + "repository", e, plugin);
         }
     }
 
+    /**
+     * Look up a repository once for the current client. Concurrent lookups of the same repository share one call
+     *
+     * @param fullName The full name of the repository (owner/name)
+     * @return The repository
+     * @throws IOException If the repository access failed
+     */
+    private GHRepository lookupRepository(String fullName) throws IOException {
+        return repositories.get(fullName, name -> github.getRepository(name));
+    }
+
+    /**
+     * Forget the repositories, organizations, user and pull requests looked up with the previous client
+     */
+    private void clearLookups() {
+        repositories.clear();
+        organizations.clear();
+        currentUser.clear();
+        pullRequests.clear();
+    }
+
     /**
      * Check if the repository is forked to the organization or personal account
      *
@@ -331,7 +466,7 @@ public class GHService {
         String repositoryName = repoType.getRepositoryName(plugin);
         LOG.info("Forking {} {} locally from repo {}...", repoType.getType(), plugin, repositoryName);
         try {
-            GHRepository fork = forkRepoType(plugin, repoType);
+            GHRepository fork = createOrAwaitFork(plugin, repoType);
             LOG.debug("Forked repository: {}", fork.getHtmlUrl());
         } catch (IOException | InterruptedException e) {
             plugin.addError("Failed to fork the" + repoType.getType() + "repository", e);
@@ -351,6 +486,142 @@ public class GHService {
         }
     }
 
+    /**
+     * Start creating the fork of the plugin repository in the background when the plugin has local changes, so it
+     * overlaps with the steps preceding the push. The fork is then awaited by {@link #fork(Plugin, RepoType)}, or
+     * discarded by {@link #discardBackgroundFork(Plugin)} if the plugin stops before pushing.
+     *
+     * @param plugin The plugin
+     */
+    public void forkInBackground(Plugin plugin) {
+        if (plugin.isLocal() || config.isDryRun() || config.isFetchMetadataOnly()) {
+            return;
+        }
+        if (!hasLocalChanges(plugin)) {
+            LOG.debug("No local changes for plugin {}. Not forking in background", plugin);
+            return;
+        }
+        pendingForks.computeIfAbsent(plugin, this::startFork);
+        LOG.debug("Forking plugin {} in background", plugin);
+    }
+
+    /**
+     * Create the fork of the plugin repository on the fork executor
+     *
+     * @param plugin The plugin
+     * @return The future fork
+     */
+    private CompletableFuture<BackgroundFork> startFork(Plugin plugin) {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        boolean existed = isForked(plugin, RepoType.PLUGIN);
+                        return new BackgroundFork(createFork(plugin, RepoType.PLUGIN), !existed);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new UncheckedIOException(new InterruptedIOException("Fork interrupted"));
+                    }
+                },
+                FORK_EXECUTOR);
+    }
+
+    /**
+     * Discard the fork started in the background if it was not used to push the plugin changes.
+     * Waits for the fork and deletes it if it was created by this run, so no unused fork is left behind
+     *
+     * @param plugin The plugin
+     */
+    public void discardBackgroundFork(Plugin plugin) {
+        CompletableFuture<BackgroundFork> pending = pendingForks.remove(plugin);
+        if (pending == null) {
+            return;
+        }
+        BackgroundFork fork;
+        try {
+            fork = pending.get();
+        } catch (ExecutionException e) {
+            LOG.warn("Background fork of plugin {} failed: {}", plugin, e.getCause().getMessage());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while waiting for the background fork of plugin {}", plugin);
+            return;
+        }
+        if (!fork.created()) {
+            LOG.debug("Keeping existing fork {} of plugin {}", fork.repository().getHtmlUrl(), plugin);
+            return;
+        }
+        LOG.info("Deleting unused fork {} of plugin {}", fork.repository().getHtmlUrl(), plugin);
+        try {
+            fork.repository().delete();
+            repositories.invalidate(getGithubOwner() + "/" + plugin.getRepositoryName());
+        } catch (IOException e) {
+            LOG.warn("Failed to delete unused fork {}: {}", fork.repository().getHtmlUrl(), e.getMessage());
+        }
+    }
+
+    /**
+     * Return if the local repository of the plugin has changes to commit
+     *
+     * @param plugin The plugin
+     * @return True if files were changed, added or removed
+     */
+    private boolean hasLocalChanges(Plugin plugin) {
+        try (Git git = Git.open(RepoType.PLUGIN.getLocalRepository(plugin).toFile())) {
+            Status status = git.status().call();
+            return status.hasUncommittedChanges() || !status.getUntracked().isEmpty();
+        } catch (IOException | GitAPIException e) {
+            LOG.debug("Unable to check local changes of plugin {}", plugin, e);
+            return false;
+        }
+    }
+
+    /**
+     * Await the fork started in background or create it
+     *
+     * @param plugin The plugin
+     * @param repoType The repo type to fork
+     * @return The fork
+     * @throws IOException          Forking the repository failed due to I/O error
+     * @throws InterruptedException Forking the repository failed due to interruption
+     */
+    private GHRepository createOrAwaitFork(Plugin plugin, RepoType repoType) throws IOException, InterruptedException {
+        CompletableFuture<BackgroundFork> pending = repoType == RepoType.PLUGIN ? pendingForks.remove(plugin) : null;
+        if (pending == null) {
+            return createFork(plugin, repoType);
+        }
+        try {
+            return pending.get().repository();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException cause) {
+                throw cause.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException("Failed to fork in background", e.getCause());
+        }
+    }
+
+    /**
+     * Create the fork once the rate limit allows to start a new plugin
+     *
+     * @param plugin The plugin
+     * @param repoType The repo type to fork
+     * @return The fork
+     * @throws IOException          Forking the repository failed due to I/O error
+     * @throws InterruptedException Forking the repository failed due to interruption
+     */
+    private GHRepository createFork(Plugin plugin, RepoType repoType) throws IOException, InterruptedException {
+        // Only start a new plugin while the budget allows in flight plugins to finish
+        if (repoType == RepoType.PLUGIN) {
+            rateLimiter.await(GitHubRateLimiter.Lane.CORE, GitHubRateLimiter.Priority.NEW_WORK);
+        }
+        return forkRepoType(plugin, repoType);
+    }
+
     /**
      * Fork repository to the organization or personal account
      *
@@ -372,9 +643,7 @@ public class GHService {
                 checkSameParentRepository(plugin, originalRepo, fork);
                 return fork;
             } else {
-                GHRepository fork = forkRepository(originalRepo, organization);
-                Thread.sleep(5000); // Wait for the fork to be ready
-                return fork;
+                return awaitForkReady(originalRepo, forkRepository(originalRepo, organization));
             }
         } else {
             if (isRepositoryForked(originalRepo.getName())) {
@@ -385,10 +654,65 @@ public class GHService {
                 checkSameParentRepository(plugin, originalRepo, fork);
                 return fork;
             } else {
-                GHRepository fork = forkRepository(originalRepo);
-                Thread.sleep(5000); // Wait for the fork to be ready
+                return awaitForkReady(originalRepo, forkRepository(originalRepo));
+            }
+        }
+    }
+
+    /**
+     * Wait until the default branch of a new fork exists, checking it with exponential backoff up to the configured
+     * timeout. The fork is returned after the timeout even if not ready
+     *
+     * @param originalRepo The original repository
+     * @param fork The new fork
+     * @return The fork
+     * @throws IOException          If the fork cannot be checked
+     * @throws InterruptedException If interrupted while waiting
+     */
+    private GHRepository awaitForkReady(GHRepository originalRepo, GHRepository fork)
+            throws IOException, InterruptedException {
+        String ref = "heads/" + originalRepo.getDefaultBranch();
+        long start = System.nanoTime();
+        Duration backoff = FORK_READINESS_INITIAL_BACKOFF;
+        while (!isForkReady(fork, ref)) {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            Duration timeout = config.getForkReadinessTimeout();
+            if (elapsed.compareTo(timeout) >= 0) {
+                LOG.warn("Fork {} not ready after {}s. Continuing anyway", fork.getFullName(), timeout.toSeconds());
                 return fork;
             }
+            Thread.sleep(Math.min(backoff.toMillis(), timeout.minus(elapsed).toMillis()));
+            backoff = backoff.multipliedBy(2).compareTo(FORK_READINESS_MAX_BACKOFF) < 0
+                    ? backoff.multipliedBy(2)
+                    : FORK_READINESS_MAX_BACKOFF;
+        }
+        LOG.debug(
+                "Fork {} ready after {} ms",
+                fork.getFullName(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return fork;
+    }
+
+    /**
+     * Return if the given branch of a new fork exists
+     *
+     * @param fork The fork
+     * @param ref The branch ref (heads/name)
+     * @return True if the branch exists
+     * @throws IOException If the fork cannot be checked
+     */
+    private boolean isForkReady(GHRepository fork, String ref) throws IOException {
+        try {
+            fork.getRef(ref);
+            return true;
+        } catch (GHFileNotFoundException e) {
+            return false;
+        } catch (HttpException e) {
+            // Git repository is empty while GitHub copies it
+            if (e.getResponseCode() == 409) {
+                return false;
+            }
+            throw e;
         }
     }
 
@@ -452,12 +776,14 @@ public class GHService {
      * @throws IOException If the organization access failed
      */
     private GHOrganization getOrganization() throws IOException {
-        try {
-            return github.getOrganization(getGithubOwner());
-        } catch (GHFileNotFoundException e) {
-            LOG.debug("Owner is not an organization: {}", config.getGithubOwner());
-            return null;
-        }
+        return organizations.get(getGithubOwner(), owner -> {
+            try {
+                return github.getOrganization(owner);
+            } catch (GHFileNotFoundException e) {
+                LOG.debug("Owner is not an organization: {}", owner);
+                return null;
+            }
+        });
     }
 
     /**
@@ -600,6 +926,7 @@ public class GHService {
         }
         try {
             repository.delete();
+            repositories.invalidate(getGithubOwner() + "/" + plugin.getRepositoryName());
             plugin.withoutCommits();
             plugin.withoutChangesPushed();
         } catch (IOException e) {
@@ -672,11 +999,20 @@ public class GHService {
                         .setRemoteName("origin")
                         .setRemoteUri(remoteUri)
                         .call();
-                git.fetch()
+                FetchCommand fetch = git.fetch()
                         .setCredentialsProvider(getCredentialProvider())
-                        .setRemote("origin")
-                        .call();
-                LOG.debug("Resetting changes and pulling latest changes from {}", remoteUri);
+                        .setRemote("origin");
+                if (config.getCloneDepth() > 0) {
+                    fetch.setDepth(config.getCloneDepth());
+                }
+                Path objects = localRepository.resolve(".git").resolve("objects");
+                GitOperationEvent event = new GitOperationEvent();
+                event.begin();
+                long packSize = getPackSize(objects);
+                fetch.call();
+                long fetched = recordFetchedBytes(plugin, packSize, getPackSize(objects));
+                commitGitOperation(event, plugin, "fetch", remoteUri.toString(), fetched);
+                LOG.debug("Resetting changes to latest changes from {}", remoteUri);
                 git.reset()
                         .setMode(ResetCommand.ResetType.HARD)
                         .setRef("origin/" + defaultBranch)
@@ -686,10 +1022,10 @@ public class GHService {
                         .setCreateBranch(false)
                         .setName(defaultBranch)
                         .call();
-                git.pull()
-                        .setCredentialsProvider(getCredentialProvider())
-                        .setRemote("origin")
-                        .setRemoteBranchName(defaultBranch)
+                // Local reset to the fetched branch, no need to pull again
+                git.reset()
+                        .setMode(ResetCommand.ResetType.HARD)
+                        .setRef("origin/" + defaultBranch)
                         .call();
                 LOG.info("Fetched {} repository from {} to branch {}", repoType.getType(), remoteUri, ref.getName());
             } catch (RefNotFoundException e) {
@@ -707,13 +1043,13 @@ public class GHService {
         // Clone the repository
         else {
             try {
-                cloneRepository(plugin, remoteUri, localRepository.toFile());
+                cloneRepository(plugin, repository, remoteUri, localRepository.toFile());
             } catch (GitAPIException e) {
                 if (e.getCause() instanceof org.apache.sshd.common.SshException) {
                     LOG.warn("SSH authentication failed. Retrying with HTTPS...");
                     remoteUri = new URIish(repository.getHttpTransportUrl());
                     try {
-                        cloneRepository(plugin, remoteUri, localRepository.toFile());
+                        cloneRepository(plugin, repository, remoteUri, localRepository.toFile());
                     } catch (GitAPIException ex) {
                         LOG.error("HTTPS clone failed: {}", ex.getMessage());
                         plugin.addError("Failed to fetch the" + repoType.getType() + "repository using HTTPS", ex);
@@ -752,24 +1088,231 @@ public class GHService {
     }
 
     /**
-     * Clone the repository to the given directory
+     * Clone the repository to the given directory.
+     * Objects are first fetched into the shared object store, then the clone borrows them through git alternates
+     * so repositories cloned again or by several plugins are only downloaded and stored once.
      *
      * @param plugin The plugin
+     * @param repository The remote repository
      * @param remoteUri The remote URI of the repository
      * @param directory The directory to clone the repository to
      * @throws GitAPIException If the clone operation failed
      */
-    private void cloneRepository(Plugin plugin, URIish remoteUri, File directory) throws GitAPIException {
-        try (Git git = Git.cloneRepository()
-                .setCredentialsProvider(getCredentialProvider())
-                .setRemote("origin")
-                .setURI(remoteUri.toString())
-                .setDirectory(directory)
-                .call()) {
-            LOG.debug("Clone successfully from {}", remoteUri);
+    private void cloneRepository(Plugin plugin, GHRepository repository, URIish remoteUri, File directory)
+            throws GitAPIException {
+        Path objectStore = getObjectStore();
+        String mirrorRefs = "refs/mirrors/" + repository.getFullName() + "/heads/";
+        Set<ObjectId> shallowCommits;
+        synchronized (objectStoreLock) {
+            shallowCommits = fetchIntoObjectStore(plugin, objectStore, remoteUri, mirrorRefs);
+        }
+
+        try (Git git = Git.init().setDirectory(directory).call()) {
+            Path alternates = git.getRepository()
+                    .getDirectory()
+                    .toPath()
+                    .resolve("objects")
+                    .resolve("info")
+                    .resolve("alternates");
+            Files.createDirectories(alternates.getParent());
+            Files.writeString(
+                    alternates,
+                    objectStore.resolve("objects").toAbsolutePath() + "\n",
+                    StandardCharsets.UTF_8);
+            // History borrowed from the store is as shallow as the store
+            if (!shallowCommits.isEmpty()) {
+                git.getRepository().getObjectDatabase().setShallowCommits(shallowCommits);
+            }
+            git.remoteAdd().setName("origin").setUri(remoteUri).call();
+            // All objects are already available through alternates, only references are copied
+            git.fetch()
+                    .setRemote(objectStore.toUri().toString())
+                    .setRefSpecs(new RefSpec("+" + mirrorRefs + "*:refs/remotes/origin/*"))
+                    .call();
+            String defaultBranch = repository.getDefaultBranch();
+            git.checkout()
+                    .setCreateBranch(true)
+                    .setName(defaultBranch)
+                    .setStartPoint("origin/" + defaultBranch)
+                    .setUpstreamMode(CreateBranchCommand.SetupUpstreamMode.TRACK)
+                    .call();
+            LOG.debug("Clone successfully from {} using shared object store", remoteUri);
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to link clone of " + remoteUri + " to shared object store", e);
+        }
+    }
+
+    /**
+     * Fetch the branches of a remote repository into the shared object store.
+     * Must be called while holding the object store lock. The store is also locked on disk so other runs sharing the
+     * cache wait for the fetch to complete.
+     *
+     * @param plugin The plugin
+     * @param objectStore The path of the shared object store
+     * @param remoteUri The remote URI of the repository
+     * @param mirrorRefs The prefix of the references receiving the branches
+     * @return The shallow commits of the store after the fetch
+     * @throws GitAPIException If the fetch failed
+     */
+    private Set<ObjectId> fetchIntoObjectStore(Plugin plugin, Path objectStore, URIish remoteUri, String mirrorRefs)
+            throws GitAPIException {
+        Path lockFile = objectStore.resolveSibling(Settings.GIT_OBJECT_STORE + ".lock");
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock ignored = channel.lock();
+                Git store = Git.open(objectStore.toFile())) {
+            FetchCommand fetch = store.fetch()
+                    .setCredentialsProvider(getCredentialProvider())
+                    .setRemote(remoteUri.toString())
+                    .setRefSpecs(new RefSpec("+refs/heads/*:" + mirrorRefs + "*"));
+            if (config.getCloneDepth() > 0) {
+                fetch.setDepth(config.getCloneDepth());
+            }
+            Path objects = objectStore.resolve("objects");
+            GitOperationEvent event = new GitOperationEvent();
+            event.begin();
+            long packSize = getPackSize(objects);
+            fetch.call();
+            long fetched = recordFetchedBytes(plugin, packSize, getPackSize(objects));
+            commitGitOperation(event, plugin, "clone", remoteUri.toString(), fetched);
+            LOG.debug("Fetched objects of {} into shared object store {}", remoteUri, objectStore);
+            return store.getRepository().getObjectDatabase().getShallowCommits();
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to open shared object store at " + objectStore, e);
+        }
+    }
+
+    /**
+     * Get the shared object store, creating it if needed.
+     * Clones only reference the objects of the store through their alternates file, so the store must never be pruned
+     * or garbage collected. Automatic garbage collection is disabled on the store to guard against it.
+     *
+     * @return The path of the bare repository holding shared objects
+     * @throws GitAPIException If the object store cannot be created
+     */
+    private Path getObjectStore() throws GitAPIException {
+        Path objectStore = config.getCachePath().resolve(Settings.GIT_OBJECT_STORE);
+        synchronized (objectStoreLock) {
+            if (!Files.isDirectory(objectStore)) {
+                try (Git store = Git.init()
+                        .setBare(true)
+                        .setDirectory(objectStore.toFile())
+                        .call()) {
+                    disableGarbageCollection(store.getRepository().getConfig());
+                    LOG.debug("Created shared object store at {}", objectStore);
+                } catch (IOException e) {
+                    throw new ModernizerException("Unable to configure shared object store at " + objectStore, e);
+                }
+            }
+        }
+        return objectStore;
+    }
+
+    /**
+     * Disable automatic garbage collection and pruning of a repository
+     *
+     * @param gitConfig The configuration of the repository
+     * @throws IOException If the configuration cannot be saved
+     */
+    private void disableGarbageCollection(StoredConfig gitConfig) throws IOException {
+        gitConfig.setInt("gc", null, "auto", 0);
+        gitConfig.setInt("gc", null, "autoPackLimit", 0);
+        gitConfig.setString("gc", null, "pruneExpire", "never");
+        gitConfig.setBoolean("receive", null, "autogc", false);
+        gitConfig.save();
+    }
+
+    /**
+     * Get the total size of the packs of a git objects directory.
+     * Fetched objects are written as packs, so the growth of this size measures the data downloaded by a fetch.
+     * It's approximate when other fetches write to the same directory at the same time.
+     *
+     * @param objects The objects directory
+     * @return The size in bytes. 0 if the directory doesn't exist
+     */
+    private long getPackSize(Path objects) {
+        Path packs = objects.resolve("pack");
+        if (!Files.isDirectory(packs)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(packs)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".pack"))
+                    .mapToLong(file -> file.toFile().length())
+                    .sum();
+        } catch (IOException e) {
+            LOG.debug("Unable to compute size of packs in {}", packs, e);
+            return 0;
         }
     }
 
+    /**
+     * Record on the plugin timings the data downloaded by a fetch
+     *
+     * @param plugin The plugin
+     * @param before Size of the packs before the fetch
+     * @param after Size of the packs after the fetch
+     * @return The number of bytes downloaded
+     */
+    private long recordFetchedBytes(Plugin plugin, long before, long after) {
+        if (after <= before) {
+            return 0;
+        }
+        plugin.getTimings().addBytesFetched(after - before);
+        return after - before;
+    }
+
+    /**
+     * Commit the flight recorder event of a git operation if it's recorded
+     *
+     * @param event The event started before the operation
+     * @param plugin The plugin
+     * @param operation The operation (clone, fetch or push)
+     * @param remote The remote repository
+     * @param bytes The number of bytes downloaded or 0 if unknown
+     */
+    private void commitGitOperation(
+            GitOperationEvent event, Plugin plugin, String operation, String remote, long bytes) {
+        if (event.shouldCommit()) {
+            event.setPlugin(plugin.getName());
+            event.setOperation(operation);
+            event.setRemote(remote);
+            event.setBytes(bytes);
+            event.commit();
+        }
+    }
+
+    /**
+     * Get the rate limiter of a budget, creating it on first use
+     *
+     * @param budget The budget, one of the GitHub App, an installation or the personal token
+     * @return The rate limiter
+     */
+    private GitHubRateLimiter getRateLimiter(String budget) {
+        return rateLimiters.computeIfAbsent(budget, key -> new GitHubRateLimiter());
+    }
+
+    /**
+     * Get the budget of a GitHub App installation. Tokens of the same installation share its budget
+     *
+     * @param installationId The installation ID
+     * @return The budget
+     */
+    private static String installationBudget(Long installationId) {
+        return "installation-" + installationId;
+    }
+
+    /**
+     * Create a GitHub client builder sending requests through the rate limiter of its budget and a connector
+     * emitting flight recorder events
+     *
+     * @param rateLimiter The rate limiter of the budget of the client
+     * @return The builder
+     */
+    private GitHubBuilder newGitHubBuilder(GitHubRateLimiter rateLimiter) {
+        return new GitHubBuilder()
+                .withConnector(new RateLimitedGitHubConnector(
+                        new RecordingGitHubConnector(GitHubConnector.DEFAULT), rateLimiter));
+    }
+
     /**
      * Checkout the branch. Creates the branch if not exists
      *
@@ -806,6 +1349,27 @@ public class GHService {
         }
     }
 
+    /**
+     * Get the commit currently checked out in the repo type directory
+     *
+     * @param plugin The plugin
+     * @param repoType The repo type
+     * @return The commit SHA or null for local plugins or if it cannot be resolved
+     */
+    public String getHeadCommit(Plugin plugin, RepoType repoType) {
+        if (plugin.isLocal()) {
+            return null;
+        }
+        Path localRepository = repoType.getLocalRepository(plugin);
+        try (Git git = Git.open(localRepository.toFile())) {
+            ObjectId head = git.getRepository().resolve("HEAD");
+            return head != null ? head.getName() : null;
+        } catch (IOException e) {
+            LOG.debug("Unable to resolve HEAD commit of {} {}", repoType.getType(), plugin, e);
+            return null;
+        }
+    }
+
     /**
      * Commit all changes in the repo type directory
      *
@@ -922,42 +1486,52 @@ public class GHService {
             return null;
         }
         try {
-            // Get for token
-            if (config.getGithubAppId() == null) {
-                if (System.getenv("GITHUB_ACTIONS") == null) {
-                    LOG.debug("Getting current user using token...");
-                    return github.getMyself();
-                }
-                // Get the GitHub Actions user
-                else {
-                    LOG.debug("Getting current user using GitHub Actions...");
-                    // Comply with https://api.github.com/users/github-actions%5Bbot%5D
-                    return new GHUser() {
-                        @Override
-                        public String getLogin() {
-                            return "github-actions[bot]";
-                        }
-
-                        @Override
-                        public String getType() throws IOException {
-                            return "Bot";
-                        }
+            return currentUser.get("current", key -> loadCurrentUser());
+        } catch (IOException e) {
+            throw new ModernizerException("Failed to get current user", e);
+        }
+    }
 
-                        @Override
-                        public String getEmail() {
-                            return "41898282+github-actions[bot]@users.noreply.github.com";
-                        }
-                    };
-                }
+    /**
+     * Load the current user from GitHub
+     *
+     * @return The current user
+     * @throws IOException If the user access failed
+     */
+    private GHUser loadCurrentUser() throws IOException {
+        // Get for token
+        if (config.getGithubAppId() == null) {
+            if (System.getenv("GITHUB_ACTIONS") == null) {
+                LOG.debug("Getting current user using token...");
+                return github.getMyself();
             }
-            // Get for app
+            // Get the GitHub Actions user
             else {
-                LOG.debug("Getting current user using GitHub App...");
-                LOG.debug("GitHub App name: {}", app.getName());
-                return github.getUser("%s[bot]".formatted(app.getName()));
+                LOG.debug("Getting current user using GitHub Actions...");
+                // Comply with https://api.github.com/users/github-actions%5Bbot%5D
+                return new GHUser() {
+                    @Override
+                    public String getLogin() {
+                        return "github-actions[bot]";
+                    }
+
+                    @Override
+                    public String getType() throws IOException {
+                        return "Bot";
+                    }
+
+                    @Override
+                    public String getEmail() {
+                        return "41898282+github-actions[bot]@users.noreply.github.com";
+                    }
+                };
             }
-        } catch (IOException e) {
-            throw new ModernizerException("Failed to get current user", e);
+        }
+        // Get for app
+        else {
+            LOG.debug("Getting current user using GitHub App...");
+            LOG.debug("GitHub App name: {}", app.getName());
+            return github.getUser("%s[bot]".formatted(app.getName()));
         }
     }
 
@@ -1013,6 +1587,8 @@ public class GHService {
         Path localRepository = repoType.getLocalRepository(plugin);
         try (Git git = Git.open(localRepository.toFile())) {
             String branchName = repoType.getBranchName(plugin, config.getRecipe());
+            GitOperationEvent event = new GitOperationEvent();
+            event.begin();
             List<PushResult> results = StreamSupport.stream(
                             git.push()
                                     .setForce(true)
@@ -1023,6 +1599,12 @@ public class GHService {
                                     .spliterator(),
                             false)
                     .toList();
+            commitGitOperation(
+                    event,
+                    plugin,
+                    "push",
+                    git.getRepository().getConfig().getString("remote", "origin", "url"),
+                    0);
             results.forEach(result -> {
                 LOG.debug("Push result: {}", result.getMessages());
                 if (result.getMessages().contains("error")) {
@@ -1108,6 +1690,7 @@ public class GHService {
                     true,
                     config.isDraft());
             LOG.info("Pull request created: {}", pr.getHtmlUrl());
+            pullRequests.invalidate(pullRequestsKey(repository, getGithubOwner() + ":" + branchName));
             repoType.withPullRequest(plugin);
             if (repoType == RepoType.PLUGIN) {
                 plugin.setPullRequestUrl(pr.getHtmlUrl().toString());
@@ -1145,7 +1728,9 @@ public class GHService {
 
     /**
      * Return if the given repository has any pull request originating from it
-     * Typically to avoid deleting fork with open pull requests
+     * Typically to avoid deleting fork with open pull requests.
+     * All branches of the fork are checked, starting with the branch of the configured recipe and the legacy branch
+     * which are the most likely to have one
      *
      * @param plugin The plugin to check
      * @return True if the repository has any pull request
@@ -1159,12 +1744,23 @@ public class GHService {
         GHRepository forkRepo = plugin.getRemoteForkRepository(this);
 
         try {
-            boolean hasPullRequest = originalRepo.queryPullRequests().state(GHIssueState.OPEN).list().toList().stream()
-                    .peek(pr -> LOG.debug("Checking pull request: {}", pr.getHtmlUrl()))
-                    .anyMatch(pr -> pr.getHead().getRepository().getFullName().equals(forkRepo.getFullName()));
-            if (hasPullRequest) {
-                LOG.debug("Found open pull request from {} to {}", forkRepo.getFullName(), originalRepo.getFullName());
-                return true;
+            // A pull request can only be opened from an existing branch of the fork
+            Set<String> forkBranches = forkRepo.getBranches().keySet();
+            Set<String> branches = new LinkedHashSet<>();
+            Stream.of(RepoType.PLUGIN.getBranchName(plugin, config.getRecipe()), LEGACY_BRANCH_NAME)
+                    .filter(forkBranches::contains)
+                    .forEach(branches::add);
+            branches.addAll(forkBranches);
+            for (String branch : branches) {
+                List<GHPullRequest> open = getOpenPullRequests(originalRepo, getGithubOwner() + ":" + branch);
+                if (!open.isEmpty()) {
+                    LOG.debug(
+                            "Found open pull request {} from {} to {}",
+                            open.get(0).getHtmlUrl(),
+                            forkRepo.getFullName(),
+                            originalRepo.getFullName());
+                    return true;
+                }
             }
         } catch (IOException e) {
             plugin.addError("Failed to check for pull requests", e);
@@ -1176,7 +1772,11 @@ public class GHService {
     }
 
     /**
-     * Check if a pull request already exists for the branch to the target repo
+     * Check if a pull request already exists for the branch to the target repo.
+     * Only pull requests from the branch of the configured GitHub owner match, which is the head pull requests are
+     * opened from. Pull requests from a branch with the same name owned by another account (for example before
+     * switching the GitHub owner, or opened by someone else) can't be updated by pushing to the fork of this owner
+     * and are ignored.
      *
      * @param plugin The plugin
      * @param repoType The repo type to check
@@ -1186,16 +1786,7 @@ public class GHService {
         GHRepository repository = repoType.getRemoteRepository(plugin, this);
         String branchName = repoType.getBranchName(plugin, config.getRecipe());
         try {
-            List<GHPullRequest> pullRequests = repository
-                    .queryPullRequests()
-                    .state(GHIssueState.OPEN)
-                    .list()
-                    .toList();
-            return pullRequests.stream()
-                    .peek(pr -> LOG.debug(
-                            "Checking pull request with ref {}", pr.getHead().getRef()))
-                    .filter(pr -> pr.getHead().getRef().equals(branchName))
-                    .findFirst();
+            return getOpenPullRequests(repository, getGithubOwner() + ":" + branchName).stream().findFirst();
         } catch (IOException e) {
             plugin.addError("Failed to check if pull request exists", e);
             return Optional.empty();
@@ -1203,32 +1794,58 @@ public class GHService {
     }
 
     /**
-     * Delete legacy PR open from the plugin-modernizer-tool branch
+     * Delete legacy PR open from the plugin-modernizer-tool branch of the configured GitHub owner
      * @param plugin The plugin to check
      */
     private void deleteLegacyPrs(Plugin plugin) {
         GHRepository repository = plugin.getRemoteRepository(this);
+        String head = getGithubOwner() + ":" + LEGACY_BRANCH_NAME;
         try {
-            List<GHPullRequest> pullRequests = repository
-                    .queryPullRequests()
-                    .state(GHIssueState.OPEN)
-                    .list()
-                    .toList();
-            pullRequests.stream()
-                    .filter(pr -> pr.getHead().getRef().equals("plugin-modernizer-tool"))
-                    .forEach(pr -> {
-                        try {
-                            pr.close();
-                            LOG.info("Deleted legacy pull request: {}", pr.getHtmlUrl());
-                        } catch (IOException e) {
-                            LOG.debug("Failed to delete legacy pull request");
-                        }
-                    });
+            List<GHPullRequest> legacyPullRequests = getOpenPullRequests(repository, head);
+            if (legacyPullRequests.isEmpty()) {
+                return;
+            }
+            pullRequests.invalidate(pullRequestsKey(repository, head));
+            legacyPullRequests.forEach(pr -> {
+                try {
+                    pr.close();
+                    LOG.info("Deleted legacy pull request: {}", pr.getHtmlUrl());
+                } catch (IOException e) {
+                    LOG.debug("Failed to delete legacy pull request");
+                }
+            });
         } catch (IOException e) {
             LOG.warn("Failed to check if legacy pull request exists", e);
         }
     }
 
+    /**
+     * Get the open pull requests of a repository from the given head. Only the matching pull requests are
+     * requested instead of paging through all open pull requests of the repository.
+     * @param repository The target repository
+     * @param head The head in the owner:branch format
+     * @return The open pull requests
+     * @throws IOException If the query failed
+     */
+    private List<GHPullRequest> getOpenPullRequests(GHRepository repository, String head) throws IOException {
+        return pullRequests.get(pullRequestsKey(repository, head), key -> repository
+                .queryPullRequests()
+                .state(GHIssueState.OPEN)
+                .head(head)
+                .list()
+                .toList());
+    }
+
+    /**
+     * Key of the open pull requests of a repository from a head
+     * @param repository The target repository
+     * @param head The head in the owner:branch format
+     * @return The key
+     */
+    private static String pullRequestsKey(GHRepository repository, String head) {
+        return repository.getFullName() + "#" + head;
+    }
+
     /**
      * Get the diff statistics after modernization
      * @param plugin The plugin after modernization
@@ -0,0 +1,229 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schedule GitHub API requests according to the rate limit headers of the responses.
+ * Each budget (core, search and GraphQL) is a token bucket holding the remaining requests until its reset.
+ * Requests wait for the reset once the bucket is empty, or while a secondary rate limit asks to retry later.
+ * New work only starts while a reserve of the budget is left, so plugins already in flight can finish.
+ * The headers reflect the budget shared with other runs using the same token or installation.
+ */
+public class GitHubRateLimiter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GitHubRateLimiter.class);
+
+    /**
+     * Percentage of the limit kept for plugins in flight
+     */
+    private static final long NEW_WORK_RESERVE_PERCENT = 10;
+
+    /**
+     * Margin added to the reset time to absorb clock skew with GitHub
+     */
+    private static final Duration RESET_MARGIN = Duration.ofSeconds(1);
+
+    /**
+     * Budgets of GitHub API requests
+     */
+    public enum Lane {
+        CORE,
+        SEARCH,
+        GRAPHQL;
+
+        /**
+         * Get the lane of a request
+         * @param url The URL of the request
+         * @return The lane
+         */
+        public static Lane of(URL url) {
+            String path = url.getPath();
+            if (path.endsWith("/graphql")) {
+                return GRAPHQL;
+            }
+            if (path.startsWith("/search/") || path.contains("/api/v3/search/")) {
+                return SEARCH;
+            }
+            return CORE;
+        }
+
+        /**
+         * Get the lane of a rate limit resource
+         * @param resource The X-RateLimit-Resource header, can be null
+         * @param fallback The lane to use if the resource is not known
+         * @return The lane
+         */
+        static Lane ofResource(String resource, Lane fallback) {
+            if (resource == null) {
+                return fallback;
+            }
+            return switch (resource.trim()) {
+                case "core" -> CORE;
+                case "search", "code_search" -> SEARCH;
+                case "graphql" -> GRAPHQL;
+                default -> fallback;
+            };
+        }
+    }
+
+    /**
+     * Priority of the work requesting the budget
+     */
+    public enum Priority {
+        /**
+         * Finishing a plugin already started, like pushing or opening a pull request
+         */
+        IN_FLIGHT,
+        /**
+         * Starting a new plugin, like forking
+         */
+        NEW_WORK
+    }
+
+    /**
+     * Known state of a budget
+     */
+    private static final class Budget {
+        private long limit = -1;
+        private long remaining = -1;
+        private Instant reset = Instant.EPOCH;
+        private Instant retryAfter = Instant.EPOCH;
+    }
+
+    /**
+     * Clock used to compare with the reset time
+     */
+    private final Clock clock;
+
+    /**
+     * Budget of each lane
+     */
+    private final Map<Lane, Budget> budgets = new EnumMap<>(Lane.class);
+
+    /**
+     * Create a rate limiter with no known budget. Requests are sent until a response tells the budget
+     */
+    public GitHubRateLimiter() {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * Create a rate limiter using the given clock
+     * @param clock The clock
+     */
+    GitHubRateLimiter(Clock clock) {
+        this.clock = clock;
+        for (Lane lane : Lane.values()) {
+            budgets.put(lane, new Budget());
+        }
+    }
+
+    /**
+     * Wait until a request can be sent on the lane and take it from the budget
+     * @param lane The lane
+     * @throws InterruptedIOException If interrupted while waiting
+     */
+    public void acquire(Lane lane) throws InterruptedIOException {
+        await(lane, Priority.IN_FLIGHT);
+    }
+
+    /**
+     * Wait until the budget of the lane allows work of the given priority.
+     * Only in flight work takes a request from the budget
+     * @param lane The lane
+     * @param priority The priority
+     * @throws InterruptedIOException If interrupted while waiting
+     */
+    public void await(Lane lane, Priority priority) throws InterruptedIOException {
+        Duration wait = tryAcquire(lane, priority);
+        while (!wait.isZero()) {
+            LOG.info(
+                    "GitHub {} rate limit reached for {} work. Waiting {}s",
+                    lane.name().toLowerCase(Locale.ROOT),
+                    priority.name().toLowerCase(Locale.ROOT),
+                    wait.toSeconds());
+            try {
+                Thread.sleep(wait.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the GitHub rate limit");
+            }
+            wait = tryAcquire(lane, priority);
+        }
+    }
+
+    /**
+     * Take a request from the budget of the lane if the priority allows it
+     * @param lane The lane
+     * @param priority The priority
+     * @return Zero if the work can proceed, otherwise how long to wait before trying again
+     */
+    synchronized Duration tryAcquire(Lane lane, Priority priority) {
+        Budget budget = budgets.get(lane);
+        Instant now = clock.instant();
+        if (now.isBefore(budget.retryAfter)) {
+            return Duration.between(now, budget.retryAfter);
+        }
+        if (budget.remaining < 0 || !now.isBefore(budget.reset)) {
+            // Unknown budget or new window, proceed until a response tells the budget
+            budget.remaining = -1;
+            return Duration.ZERO;
+        }
+        long reserve = priority == Priority.NEW_WORK ? budget.limit * NEW_WORK_RESERVE_PERCENT / 100 : 0;
+        if (budget.remaining > reserve) {
+            if (priority == Priority.IN_FLIGHT) {
+                budget.remaining--;
+            }
+            return Duration.ZERO;
+        }
+        return Duration.between(now, budget.reset).plus(RESET_MARGIN);
+    }
+
+    /**
+     * Refill the budget from the rate limit headers of a response
+     * @param lane The lane of the request
+     * @param response The response
+     */
+    public synchronized void update(Lane lane, GitHubConnectorResponse response) {
+        Budget budget = budgets.get(Lane.ofResource(response.header("X-RateLimit-Resource"), lane));
+        long limit = parseHeader(response.header("X-RateLimit-Limit"));
+        long remaining = parseHeader(response.header("X-RateLimit-Remaining"));
+        long reset = parseHeader(response.header("X-RateLimit-Reset"));
+        if (limit >= 0 && remaining >= 0 && reset >= 0) {
+            budget.limit = limit;
+            budget.remaining = remaining;
+            budget.reset = Instant.ofEpochSecond(reset);
+        }
+        // Secondary rate limits ask to retry later without exhausting the budget
+        long retryAfter = parseHeader(response.header("Retry-After"));
+        if ((response.statusCode() == 403 || response.statusCode() == 429) && retryAfter >= 0) {
+            budget.retryAfter = clock.instant().plusSeconds(retryAfter);
+        }
+    }
+
+    /**
+     * Parse a numeric header
+     * @param header The header value
+     * @return The value or -1 if missing or not a number
+     */
+    private static long parseHeader(String header) {
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import java.io.IOException;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+/**
+ * GitHub connector sending each request of the delegate once the rate limiter allows it
+ */
+public class RateLimitedGitHubConnector implements GitHubConnector {
+
+    /**
+     * The connector sending the requests
+     */
+    private final GitHubConnector delegate;
+
+    /**
+     * The rate limiter scheduling the requests
+     */
+    private final GitHubRateLimiter rateLimiter;
+
+    /**
+     * Create a rate limited connector
+     * @param delegate The connector sending the requests
+     * @param rateLimiter The rate limiter scheduling the requests
+     */
+    public RateLimitedGitHubConnector(GitHubConnector delegate, GitHubRateLimiter rateLimiter) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        GitHubRateLimiter.Lane lane = GitHubRateLimiter.Lane.of(request.url());
+        rateLimiter.acquire(lane);
+        GitHubConnectorResponse response = delegate.send(request);
+        rateLimiter.update(lane, response);
+        return response;
+    }
+}
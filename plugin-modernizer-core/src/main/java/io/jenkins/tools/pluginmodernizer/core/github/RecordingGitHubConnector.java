@@ -0,0 +1,61 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import io.jenkins.tools.pluginmodernizer.core.jfr.GitHubApiCallEvent;
+import java.io.IOException;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+/**
+ * GitHub connector emitting a flight recorder event for each REST call sent by the delegate
+ */
+public class RecordingGitHubConnector implements GitHubConnector {
+
+    /**
+     * The connector sending the requests
+     */
+    private final GitHubConnector delegate;
+
+    /**
+     * Create a recording connector
+     * @param delegate The connector sending the requests
+     */
+    public RecordingGitHubConnector(GitHubConnector delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public GitHubConnectorResponse send(GitHubConnectorRequest request) throws IOException {
+        GitHubApiCallEvent event = new GitHubApiCallEvent();
+        if (!event.isEnabled()) {
+            return delegate.send(request);
+        }
+        event.begin();
+        event.setMethod(request.method());
+        event.setEndpoint(request.url().getPath());
+        try {
+            GitHubConnectorResponse response = delegate.send(request);
+            event.setStatus(response.statusCode());
+            event.setRateLimitRemaining(parseRemaining(response.header("X-RateLimit-Remaining")));
+            return response;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Parse the remaining rate limit header
+     * @param header The header value
+     * @return The remaining requests or -1 if unknown
+     */
+    static int parseRemaining(String header) {
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -10,6 +10,9 @@ import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
 import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,20 +25,42 @@ public class CacheManager {
     public static final String HEALTH_SCORE_KEY = "health-score.json";
     public static final String INSTALLATION_STATS_KEY = "plugin-installation-stats.json";
     public static final String PLUGIN_METADATA_CACHE_KEY = "plugin-metadata.json";
+    public static final String MODERNIZED_PLUGIN_METADATA_CACHE_KEY = "modernized-plugin-metadata.json";
     public static final String MODERNIZATION_METADATA_CACHE_KEY = "modernization-metadata.json";
     public static final String OPT_OUT_PLUGINS_CACHE_KEY = "opt-out-plugins.json";
+
+    /**
+     * Default age after which a cache entry is considered expired
+     */
+    public static final Duration EXPIRATION = Duration.ofHours(1);
+
+    /**
+     * Datasets with a different stale window than the default one, unless configured otherwise
+     */
+    private static final Map<String, Duration> DEFAULT_MAX_AGES = Map.of(INSTALLATION_STATS_KEY, Duration.ofDays(1));
+
     private static final Logger LOG = LoggerFactory.getLogger(CacheManager.class);
 
     private final Path location;
     private final Clock clock;
     private final boolean expires;
+    private final Map<String, Duration> maxAges;
 
     /**
      * Creates a new cache manager
      * @param cache The location of the cache
      */
     public CacheManager(Path cache) {
-        this(cache, Clock.systemDefaultZone(), true);
+        this(cache, Map.of());
+    }
+
+    /**
+     * Creates a new cache manager with the stale window of some datasets
+     * @param cache The location of the cache
+     * @param maxAges The age after which entries are considered expired by cache key, overriding the defaults
+     */
+    public CacheManager(Path cache, Map<String, Duration> maxAges) {
+        this(cache, Clock.systemDefaultZone(), true, maxAges);
     }
 
     /**
@@ -45,9 +70,23 @@ public class CacheManager {
      * @param expires Whether the cache expires
      */
     CacheManager(Path cache, Clock clock, boolean expires) {
+        this(cache, clock, expires, Map.of());
+    }
+
+    /**
+     * Creates a new cache manager with a custom clock, expiration and stale window of some datasets
+     * @param cache The location of the cache
+     * @param clock The clock to use
+     * @param expires Whether the cache expires
+     * @param maxAges The age after which entries are considered expired by cache key, overriding the defaults
+     */
+    CacheManager(Path cache, Clock clock, boolean expires, Map<String, Duration> maxAges) {
         this.location = cache;
         this.clock = clock;
         this.expires = expires;
+        Map<String, Duration> effectiveMaxAges = new HashMap<>(DEFAULT_MAX_AGES);
+        effectiveMaxAges.putAll(maxAges);
+        this.maxAges = Map.copyOf(effectiveMaxAges);
     }
 
     /**
@@ -99,7 +138,7 @@ public class CacheManager {
      * Retrieves a json object from the cache.
      * <p>
      * Will return null if the key can't be found or if it hasn't been
-     * modified for 1 hour
+     * modified for its max age (1 hour by default)
      *
      * @param path     subdirectory of the object
      * @param cacheKey key to lookup, i.e. update-center
@@ -110,9 +149,8 @@ public class CacheManager {
         try {
             FileTime lastModifiedTime = Files.getLastModifiedTime(cachedPath);
             Duration between = Duration.between(lastModifiedTime.toInstant(), clock.instant());
-            long betweenHours = between.toHours();
 
-            if (betweenHours > 0L) {
+            if (between.compareTo(getMaxAge(cacheKey)) >= 0) {
                 LOG.debug(
                         "Cache entry expired: {}{}",
                         cacheKey,
@@ -122,9 +160,7 @@ public class CacheManager {
                 }
             }
             LOG.debug("Cache entry found for cache {} at path {} and key {}", location, path, cacheKey);
-            T entry = JsonUtils.fromJson(cachedPath, clazz);
-            entry.setCacheManager(this);
-            return entry;
+            return read(cachedPath, clazz);
         } catch (NoSuchFileException e) {
             LOG.debug("Cache entry not found for cache {} at path {} and key {}", location, path, cacheKey);
             return null;
@@ -133,6 +169,78 @@ public class CacheManager {
         }
     }
 
+    /**
+     * Retrieves a json object from the cache even if it's expired. Used to revalidate stale entries.
+     *
+     * @param path     subdirectory of the object
+     * @param cacheKey key to lookup, i.e. update-center
+     * @return the cached object or null if not found
+     */
+    public <T extends CacheEntry<T>> T peek(Path path, String cacheKey, Class<T> clazz) {
+        Path cachedPath = location.resolve(path).resolve(cacheKey);
+        if (!Files.isRegularFile(cachedPath)) {
+            return null;
+        }
+        return read(cachedPath, clazz);
+    }
+
+    /**
+     * Mark a cache entry as fresh without rewriting it, for example when the remote data was not modified
+     * @param entry The cache entry
+     */
+    public void touch(CacheEntry<?> entry) {
+        Path cachedPath = location.resolve(entry.getPath()).resolve(entry.getKey());
+        try {
+            Files.setLastModifiedTime(cachedPath, FileTime.from(clock.instant()));
+            LOG.debug("Cache entry refreshed for key: {} at location {}", entry.getKey(), location);
+        } catch (IOException e) {
+            throw new ModernizerException("Failed to refresh cache entry for key: " + entry.getKey(), e);
+        }
+    }
+
+    /**
+     * Return the age after which the entries of the given key are considered expired
+     * @param cacheKey The cache key
+     * @return The max age
+     */
+    public Duration getMaxAge(String cacheKey) {
+        return maxAges.getOrDefault(cacheKey, EXPIRATION);
+    }
+
+    private <T extends CacheEntry<T>> T read(Path cachedPath, Class<T> clazz) {
+        T entry = JsonUtils.fromJson(cachedPath, clazz);
+        entry.setCacheManager(this);
+        return entry;
+    }
+
+    /**
+     * Return the instant at which the given entry will be considered expired by this cache
+     * @param entry The cache entry
+     * @return The expiration instant
+     */
+    public Instant getExpiration(CacheEntry<?> entry) {
+        if (!expires) {
+            return Instant.MAX;
+        }
+        try {
+            return Files.getLastModifiedTime(location.resolve(entry.getPath()).resolve(entry.getKey()))
+                    .toInstant()
+                    .plus(getMaxAge(entry.getKey()));
+        } catch (IOException e) {
+            LOG.debug("Unable to read last modified time of cache entry {}", entry.getKey());
+            return clock.instant().plus(getMaxAge(entry.getKey()));
+        }
+    }
+
+    /**
+     * Return if the given expiration instant is reached
+     * @param expiration The expiration instant
+     * @return True if expired
+     */
+    public boolean isExpired(Instant expiration) {
+        return expires && !clock.instant().isBefore(expiration);
+    }
+
     /**
      * Removes a cache entry
      * @param cacheKey The key to remove
@@ -3,6 +3,7 @@ package io.jenkins.tools.pluginmodernizer.core.impl;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.jfr.MavenInvocationEvent;
 import io.jenkins.tools.pluginmodernizer.core.model.JDK;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
@@ -13,9 +14,12 @@ import jakarta.inject.Inject;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.apache.maven.shared.invoker.DefaultInvocationRequest;
 import org.apache.maven.shared.invoker.InvocationRequest;
@@ -92,12 +96,14 @@ public class MavenInvoker {
      */
     public void collectMetadata(Plugin plugin) {
         LOG.info("Collecting metadata for plugin {}... Please be patient", plugin);
-        invokeGoals(plugin, getSingleRecipeArgs(Settings.FETCH_METADATA_RECIPE));
+        invokeGoals(plugin, getRecipeArgs(Settings.FETCH_METADATA_RECIPE));
         LOG.info("Done");
     }
 
     /**
-     * Invoke the rewrite modernization for a given plugin
+     * Invoke the rewrite modernization for a given plugin.
+     * The metadata of the modernized plugin is collected after the recipe within the same run, so sources are only
+     * parsed once. It's stored in the target directory of the plugin like for {@link #collectMetadata(Plugin)}
      * @param plugin The plugin to run the rewrite on
      */
     public void invokeRewrite(Plugin plugin) {
@@ -106,20 +112,22 @@ public class MavenInvoker {
                 "Running recipes {} for plugin {}... Please be patient",
                 config.getRecipe().getName(),
                 plugin);
-        invokeGoals(plugin, getSingleRecipeArgs(config.getRecipe()));
+        invokeGoals(plugin, getRecipeArgs(config.getRecipe(), Settings.FETCH_METADATA_RECIPE));
         LOG.info("Done");
     }
 
     /**
-     * Get the rewrite arguments to be executed for metadata collection
+     * Get the rewrite arguments to run the given recipes in order on a single parse of the sources
+     * @param recipes The recipes to run
      * @return The list of arguments to be passed to the rewrite plugin
      */
-    private String[] getSingleRecipeArgs(Recipe recipe) {
+    private String[] getRecipeArgs(Recipe... recipes) {
         List<String> goals = new ArrayList<>();
         goals.add("org.openrewrite.maven:rewrite-maven-plugin:" + Settings.MAVEN_REWRITE_PLUGIN_VERSION + ":run");
         goals.add("-Denforcer.skip=true");
         goals.add("-Dmaven.repo.local=%s".formatted(config.getMavenLocalRepo()));
-        goals.add("-Drewrite.activeRecipes=" + recipe.getName());
+        goals.add("-Drewrite.activeRecipes="
+                + Arrays.stream(recipes).map(Recipe::getName).collect(Collectors.joining(",")));
         goals.add("-Drewrite.recipeArtifactCoordinates=io.jenkins.plugin-modernizer:plugin-modernizer-core:"
                 + config.getVersion());
         return goals.toArray(String[]::new);
@@ -132,7 +140,8 @@ public class MavenInvoker {
      */
     private void invokeGoals(Plugin plugin, String... goals) {
         validatePom(plugin);
-        try {
+        Path mavenLogFile = config.getCachePath().resolve(plugin.getMavenLogFile());
+        try (MavenOutputCapture capture = new MavenOutputCapture(plugin, mavenLogFile, plugin.startMavenLog())) {
             InvocationRequest request = createInvocationRequest(plugin, goals);
             JDK jdk = plugin.getJDK();
             if (jdk != null) {
@@ -143,19 +152,34 @@ public class MavenInvoker {
                 // In order to rewrite on outdated plugins set add-opens
                 if (jdk.getMajor() >= 17) {
                     LOG.debug("Adding --add-opens for JDK 17+");
-                    request.setMavenOpts(
-                            "--add-opens java.base/java.lang=ALL-UNNAMED --add-opens java.base/java.io=ALL-UNNAMED --add-opens java.base/java.util=ALL-UNNAMED");
+                    String opens =
+                            "--add-opens java.base/java.lang=ALL-UNNAMED --add-opens java.base/java.io=ALL-UNNAMED --add-opens java.base/java.util=ALL-UNNAMED";
+                    // The daemon JVM doesn't read MAVEN_OPTS
+                    if (config.getMavenDaemonHome() != null) {
+                        request.addArg("-Dmvnd.jvmArgs=" + opens);
+                    } else {
+                        request.setMavenOpts(opens);
+                    }
                 }
             }
             request.setBatchMode(true);
             request.setNoTransferProgress(false);
-            request.setErrorHandler((message) -> {
-                LOG.error(plugin.getMarker(), String.format("Something went wrong when running maven: %s", message));
-            });
-            request.setOutputHandler((message) -> {
-                LOG.info(plugin.getMarker(), message);
-            });
+            request.setErrorHandler(capture.getErrorHandler());
+            request.setOutputHandler(capture.getOutputHandler());
+            LOG.info(plugin.getMarker(), "Running maven {}. Full output in {}", String.join(" ", goals), mavenLogFile);
+            MavenInvocationEvent event = new MavenInvocationEvent();
+            event.begin();
+            long start = System.nanoTime();
             InvocationResult result = invoker.execute(request);
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            plugin.getTimings().addMavenExecution(String.join(" ", goals), result.getExitCode(), duration);
+            if (event.shouldCommit()) {
+                event.setPlugin(plugin.getName());
+                event.setGoals(String.join(" ", goals));
+                event.setJdk(jdk != null ? jdk.getMajor() : 0);
+                event.setExitCode(result.getExitCode());
+                event.commit();
+            }
             handleInvocationResult(plugin, result);
         } catch (MavenInvocationException | InterruptedException | IOException e) {
             plugin.addError("Maven invocation failed", e);
@@ -189,6 +213,11 @@ public class MavenInvoker {
             throw new ModernizerException("Invalid Maven home directory at '%s'.".formatted(mavenHome));
         }
 
+        Path mavenDaemonHome = config.getMavenDaemonHome();
+        if (mavenDaemonHome != null && !Files.isExecutable(mavenDaemonHome.resolve("bin/mvnd"))) {
+            throw new ModernizerException("Invalid Maven Daemon home directory at '%s'.".formatted(mavenDaemonHome));
+        }
+
         Path mavenLocalRepo = config.getMavenLocalRepo();
         if (mavenLocalRepo == null) {
             throw new ModernizerException("Maven local repository is not set.");
@@ -229,6 +258,19 @@ public class MavenInvoker {
         request.setMavenHome(config.getMavenHome().toFile());
         request.setPomFile(plugin.getLocalRepository().resolve("pom.xml").toFile());
         request.addArgs(List.of(args));
+        // Reuse warm daemon JVMs across invocations and plugins instead of forking a cold mvn
+        Path mavenDaemonHome = config.getMavenDaemonHome();
+        if (mavenDaemonHome != null) {
+            request.setMavenHome(mavenDaemonHome.toFile());
+            request.setMavenExecutable(mavenDaemonHome.resolve("bin/mvnd").toFile());
+            // Plain output so each line still reaches the plugin output handler
+            request.addArg("-Dmvnd.rawStreams=true");
+        }
+        // Concurrent builds share the same local repository
+        if (config.getParallelism() > 1) {
+            request.addArg("-Daether.syncContext.named.factory=file-lock");
+            request.addArg("-Daether.syncContext.named.nameMapper=file-gav");
+        }
         if (config.isDebug()) {
             request.addArg("-X");
         }
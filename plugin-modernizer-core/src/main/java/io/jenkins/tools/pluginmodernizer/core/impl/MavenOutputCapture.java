@@ -0,0 +1,157 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.apache.maven.shared.invoker.InvocationOutputHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Capture the output of a Maven invocation for a plugin.
+ * All lines are appended to the Maven log file of the plugin through a large buffer. Only error and summary lines
+ * are forwarded to the plugin logger so the logging pipeline isn't used for each line of output.
+ * The file is truncated by the first invocation of each run, so it only contains the output of the last run.
+ */
+public class MavenOutputCapture implements Closeable {
+
+    /**
+     * The logger to use
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(MavenOutputCapture.class);
+
+    /**
+     * Buffer size of the Maven log file
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The plugin
+     */
+    private final Plugin plugin;
+
+    /**
+     * The writer to the Maven log file or null if it cannot be opened
+     */
+    private final Writer writer;
+
+    /**
+     * Create a new capture writing to the given log file
+     * @param plugin The plugin
+     * @param logFile The Maven log file
+     * @param truncate True to discard the previous content of the log file, false to append to it
+     */
+    public MavenOutputCapture(Plugin plugin, Path logFile, boolean truncate) {
+        this.plugin = plugin;
+        this.writer = open(logFile, truncate);
+    }
+
+    /**
+     * Handler for the standard output of Maven
+     * @return The output handler
+     */
+    public InvocationOutputHandler getOutputHandler() {
+        return line -> {
+            write(line);
+            if (isErrorLine(line)) {
+                LOG.error(plugin.getMarker(), line);
+            } else if (isSummaryLine(line)) {
+                LOG.info(plugin.getMarker(), line);
+            }
+        };
+    }
+
+    /**
+     * Handler for the error output of Maven
+     * @return The error handler
+     */
+    public InvocationOutputHandler getErrorHandler() {
+        return line -> {
+            write(line);
+            LOG.error(plugin.getMarker(), String.format("Something went wrong when running maven: %s", line));
+        };
+    }
+
+    @Override
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        synchronized (this) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOG.warn(plugin.getMarker(), "Unable to close Maven log file", e);
+            }
+        }
+    }
+
+    /**
+     * Append a line to the Maven log file, or fallback to the plugin logger
+     * @param line The line
+     */
+    private void write(String line) {
+        if (writer == null) {
+            LOG.info(plugin.getMarker(), line);
+            return;
+        }
+        // Standard and error output are pumped by different threads
+        synchronized (this) {
+            try {
+                writer.write(line);
+                writer.write(System.lineSeparator());
+            } catch (IOException e) {
+                LOG.info(plugin.getMarker(), line);
+            }
+        }
+    }
+
+    /**
+     * Open the Maven log file
+     * @param logFile The log file
+     * @param truncate True to truncate the file, false to append to it
+     * @return The writer or null if the file cannot be opened
+     */
+    private Writer open(Path logFile, boolean truncate) {
+        try {
+            Files.createDirectories(logFile.getParent());
+            StandardOpenOption mode = truncate ? StandardOpenOption.TRUNCATE_EXISTING : StandardOpenOption.APPEND;
+            return new BufferedWriter(
+                    new OutputStreamWriter(
+                            Files.newOutputStream(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode),
+                            StandardCharsets.UTF_8),
+                    BUFFER_SIZE);
+        } catch (IOException e) {
+            LOG.warn(plugin.getMarker(), "Unable to open Maven log file {}. Logging output instead", logFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Return if the line reports an error
+     * @param line The line
+     * @return True for error lines
+     */
+    static boolean isErrorLine(String line) {
+        return line.startsWith("[ERROR]");
+    }
+
+    /**
+     * Return if the line is part of the build summary
+     * @param line The line
+     * @return True for summary lines
+     */
+    static boolean isSummaryLine(String line) {
+        return line.contains("BUILD SUCCESS")
+                || line.contains("BUILD FAILURE")
+                || line.contains("Total time:")
+                || (line.contains("Tests run:") && !line.contains(" -- in "));
+    }
+}
@@ -9,14 +9,30 @@ import io.jenkins.tools.pluginmodernizer.core.github.GHService;
 import io.jenkins.tools.pluginmodernizer.core.model.DiffStats;
 import io.jenkins.tools.pluginmodernizer.core.model.JDK;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.model.PhaseTimings;
+import io.jenkins.tools.pluginmodernizer.core.model.PhaseTimings.Phase;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.PluginProcessingException;
 import io.jenkins.tools.pluginmodernizer.core.model.RepoType;
+import io.jenkins.tools.pluginmodernizer.core.model.RunReport;
+import io.jenkins.tools.pluginmodernizer.core.utils.JdkFetcher;
 import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
 import io.jenkins.tools.pluginmodernizer.core.utils.StaticPomParser;
+import io.jenkins.tools.pluginmodernizer.core.utils.TemplateUtils;
 import jakarta.inject.Inject;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +56,14 @@ public class PluginModernizer {
     @Inject
     private CacheManager cacheManager;
 
+    @Inject
+    private JdkFetcher jdkFetcher;
+
+    /**
+     * Guard the local metadata repository which is shared by all plugins
+     */
+    private final Object metadataLock = new Object();
+
     /**
      * Validate the configuration
      */
@@ -164,13 +188,76 @@ public class PluginModernizer {
         LOG.debug("Maven Local Repository: {}", config.getMavenLocalRepo());
         LOG.debug("Dry Run: {}", config.isDryRun());
         LOG.debug("Maven rewrite plugin version: {}", Settings.MAVEN_REWRITE_PLUGIN_VERSION);
+        LOG.debug("Parallelism: {}", config.getParallelism());
 
-        // Fetch plugin versions
+        // Fetch all remote datasets at once, plugin versions are mandatory
+        pluginService.prefetch();
         pluginService.getPluginVersionData();
 
+        Instant startedAt = Instant.now();
         List<Plugin> plugins = config.getPlugins();
-        plugins.forEach(this::process);
+
+        // Provision JDKs in background so no plugin waits for a JDK download
+        jdkFetcher.prefetch(getRequiredJdks(plugins));
+
+        int parallelism = Math.min(config.getParallelism(), plugins.size());
+        if (parallelism > 1) {
+            processConcurrently(plugins, parallelism);
+        } else {
+            plugins.forEach(this::process);
+        }
         printResults(plugins);
+        writeRunReport(startedAt, plugins);
+    }
+
+    /**
+     * Write the performance report of the run if a report path is configured
+     * @param startedAt When the run started
+     * @param plugins The processed plugins
+     */
+    private void writeRunReport(Instant startedAt, List<Plugin> plugins) {
+        Path reportPath = config.getReportPath();
+        if (reportPath == null) {
+            return;
+        }
+        try {
+            Path report = RunReport.of(startedAt, config.getRecipe().getName(), plugins)
+                    .write(reportPath);
+            LOG.info("Run report written to {}", report);
+        } catch (ModernizerException e) {
+            LOG.warn("Unable to write run report: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Process plugins on a bounded pool of workers and wait for all of them to complete.
+     * Each plugin is confined to a single worker, per plugin logs are still routed using the plugin marker
+     * @param plugins The plugins to process
+     * @param parallelism The number of workers
+     */
+    private void processConcurrently(List<Plugin> plugins, int parallelism) {
+        LOG.info("Processing {} plugins using {} workers", plugins.size(), parallelism);
+        AtomicInteger workerCount = new AtomicInteger();
+        List<Callable<Void>> tasks = plugins.stream()
+                .map(plugin -> (Callable<Void>) () -> {
+                    process(plugin);
+                    return null;
+                })
+                .toList();
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "plugin-modernizer-worker-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        })) {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModernizerException("Interrupted while processing plugins", e);
+        } catch (ExecutionException e) {
+            throw new ModernizerException("Unexpected error while processing plugins", e.getCause());
+        }
     }
 
     /**
@@ -178,6 +265,7 @@ public class PluginModernizer {
      * @param plugin The plugin to process
      */
     private void process(Plugin plugin) {
+        long start = System.nanoTime();
         boolean earlySkip = false;
         try {
 
@@ -194,6 +282,8 @@ public class PluginModernizer {
                 return;
             }
 
+            PhaseTimings timings = plugin.getTimings();
+
             // Determine repo name
             plugin.withRepositoryName(pluginService.extractRepoName(plugin));
 
@@ -222,22 +312,29 @@ public class PluginModernizer {
             }
 
             if (config.isRemoveForks()) {
-                plugin.deleteFork(ghService);
+                timings.time(Phase.DELETE_FORK, () -> plugin.deleteFork(ghService));
             }
 
-            plugin.fetch(ghService);
+            timings.time(Phase.FETCH, () -> plugin.fetch(ghService));
             if (plugin.hasErrors()) {
                 LOG.info("Plugin {} has errors. Will not process this plugin.", plugin.getName());
             }
 
-            // Set the metadata from cache if available
-            plugin.loadMetadata(cacheManager);
+            // Set the metadata from cache if available. Metadata of the same revision is reused regardless of its age
+            boolean revisionMetadata = timings.time(Phase.LOAD_METADATA, () -> {
+                plugin.resolveMetadataFingerprint(ghService);
+                boolean loaded = plugin.loadRevisionMetadata(cacheManager);
+                if (plugin.getMetadataFingerprint() == null) {
+                    plugin.loadMetadata(cacheManager);
+                }
+                return loaded;
+            });
 
             // Compile only if we are able to find metadata
             // For the moment it's local cache only but later will fetch on remote storage
             if (!config.isFetchMetadataOnly() && !config.isSkipVerification()) {
                 if (plugin.getMetadata() != null && !plugin.hasPreconditionErrors()) {
-                    JDK jdk = compilePlugin(plugin);
+                    JDK jdk = timings.time(Phase.COMPILE, () -> compilePlugin(plugin));
                     LOG.debug("Plugin {} compiled successfully with JDK {}", plugin.getName(), jdk.getMajor());
                 } else {
                     LOG.debug(
@@ -246,38 +343,39 @@ public class PluginModernizer {
                 }
             }
 
-            plugin.checkoutBranch(ghService);
+            timings.time(Phase.CHECKOUT, () -> plugin.checkoutBranch(ghService));
 
             // Minimum JDK to run openrewrite
             plugin.withJDK(JDK.JAVA_21);
 
             // Collect metadata and move metadata from the target directory of the plugin to the common cache
-            if (!plugin.hasMetadata() || config.isFetchMetadataOnly()) {
-                collectMetadata(plugin, true);
-
+            if (!plugin.hasMetadata() || (config.isFetchMetadataOnly() && !revisionMetadata)) {
+                timings.time(Phase.COLLECT_METADATA, () -> collectMetadata(plugin, true));
+                plugin.storeRevisionMetadata(cacheManager);
             } else {
                 LOG.debug("Metadata already computed for plugin {}. Using cached metadata.", plugin.getName());
             }
 
             if (plugin.hasPreconditionErrors()) {
-                plugin.getPreconditionErrors().forEach(preconditionError -> {
-                    if (preconditionError.remediate(plugin)) {
-                        plugin.removePreconditionError(preconditionError);
-                        LOG.info(
-                                "Precondition error {} was remediated for plugin {}",
-                                preconditionError,
-                                plugin.getName());
-                    } else {
-                        LOG.info(
-                                "Precondition error {} was not remediated for plugin {}",
-                                preconditionError,
-                                plugin.getName());
-                    }
-                });
+                timings.time(
+                        Phase.REMEDIATION, () -> plugin.getPreconditionErrors().forEach(preconditionError -> {
+                            if (preconditionError.remediate(plugin)) {
+                                plugin.removePreconditionError(preconditionError);
+                                LOG.info(
+                                        "Precondition error {} was remediated for plugin {}",
+                                        preconditionError,
+                                        plugin.getName());
+                            } else {
+                                LOG.info(
+                                        "Precondition error {} was not remediated for plugin {}",
+                                        preconditionError,
+                                        plugin.getName());
+                            }
+                        }));
 
                 // Retry to collect metadata after remediation to get up-to-date results
                 if (!config.isFetchMetadataOnly()) {
-                    collectMetadata(plugin, true);
+                    timings.time(Phase.COLLECT_METADATA, () -> collectMetadata(plugin, true));
                 }
             }
 
@@ -294,8 +392,7 @@ public class PluginModernizer {
             if (plugin.getMetadata().getJdks().stream().allMatch(jdk -> jdk.equals(JDK.getImplicit()))) {
                 LOG.info(
                         "Plugin look outdated or without Jenkinsfile. Or fail it's parsing, falling back to jenkins.version");
-                StaticPomParser parser = new StaticPomParser(
-                        plugin.getLocalRepository().resolve("pom.xml").toString());
+                StaticPomParser parser = plugin.getPom();
                 String jenkinsVersion = parser.getJenkinsVersion();
                 String baseline = parser.getBaseline();
                 if (baseline != null && jenkinsVersion != null && jenkinsVersion.contains("${jenkins.baseline}")) {
@@ -308,7 +405,7 @@ public class PluginModernizer {
                 LOG.debug("Metadata after fallback: {}", plugin.getMetadata().toJson());
                 if (jdk.getMajor() <= 8) {
                     LOG.info("Need a first compile to generate classes due to Java 8 and lower");
-                    plugin.verifyQuickBuild(mavenInvoker, jdk);
+                    timings.time(Phase.COMPILE, () -> plugin.verifyQuickBuild(mavenInvoker, jdk));
                     if (plugin.hasErrors()) {
                         if (!config.isSkipVerification()) {
                             plugin.raiseLastError();
@@ -321,13 +418,13 @@ public class PluginModernizer {
                     }
 
                     // Ensure we recollect metadata
-                    collectMetadata(plugin, false);
+                    timings.time(Phase.COLLECT_METADATA, () -> collectMetadata(plugin, false));
                 }
 
                 // Reset the repo to not keep changes for build-metadata
                 // and try to set the right JDK and jenkins version
                 if (config.isFetchMetadataOnly()) {
-                    plugin.fetch(ghService);
+                    timings.time(Phase.FETCH, () -> plugin.fetch(ghService));
                 }
             }
 
@@ -337,7 +434,7 @@ public class PluginModernizer {
                     plugin.getMetadata().getJenkinsVersion().replaceAll("(\\d+\\.\\d+)\\.\\d+", "$1"));
 
             // Run OpenRewrite
-            plugin.runOpenRewrite(mavenInvoker);
+            timings.time(Phase.RUN_OPENREWRITE, () -> plugin.runOpenRewrite(mavenInvoker));
             if (plugin.hasErrors()) {
                 LOG.warn(
                         "Skipping plugin {} due to openrewrite recipes errors. Check logs for more details.",
@@ -345,9 +442,14 @@ public class PluginModernizer {
                 return;
             }
 
+            // Metadata was collected after the recipe within the same run. Keep it before the target is cleaned
+            if (!config.isFetchMetadataOnly()) {
+                plugin.stashModernizedMetadata(cacheManager);
+            }
+
             // Verify plugin
             if (!config.isFetchMetadataOnly() && !config.isSkipVerification()) {
-                JDK jdk = verifyPlugin(plugin);
+                JDK jdk = timings.time(Phase.VERIFY, () -> verifyPlugin(plugin));
                 LOG.info("Plugin {} verified successfully with JDK {}", plugin.getName(), jdk.getMajor());
             }
 
@@ -358,11 +460,20 @@ public class PluginModernizer {
                 return;
             }
 
-            // Recollect metadata after modernization
+            // Start forking while metadata is collected and changes are committed if a pull request can be opened
+            if (!config.isFetchMetadataOnly() && (!isOptedOut(plugin) || config.isOverrideOptOutPlugins())) {
+                plugin.forkInBackground(ghService);
+            }
+
+            // Use metadata collected after modernization or recollect it
             if (!config.isFetchMetadataOnly()) {
-                plugin.withJDK(JDK.JAVA_21);
-                plugin.clean(mavenInvoker);
-                collectMetadata(plugin, false);
+                if (plugin.restoreModernizedMetadata(cacheManager)) {
+                    plugin.enrichMetadata(pluginService);
+                } else {
+                    plugin.withJDK(JDK.JAVA_21);
+                    timings.time(Phase.CLEAN, () -> plugin.clean(mavenInvoker));
+                    timings.time(Phase.COLLECT_METADATA, () -> collectMetadata(plugin, false));
+                }
                 LOG.debug(
                         "Plugin {} metadata after modernization: {}",
                         plugin.getName(),
@@ -370,21 +481,18 @@ public class PluginModernizer {
 
                 // Clean target folder before committing changes
                 if (!config.isDryRun()) {
-                    plugin.clean(mavenInvoker);
+                    timings.time(Phase.CLEAN, () -> plugin.clean(mavenInvoker));
                 }
-                plugin.commit(ghService);
+                timings.time(Phase.COMMIT, () -> plugin.commit(ghService));
 
-                boolean isOptOutPlugin = pluginService
-                        .getOptOutPluginsData()
-                        .getOptedOutPlugins()
-                        .contains(plugin.getName());
+                boolean isOptOutPlugin = isOptedOut(plugin);
                 // Only fork/push/PR if we have any changes and the plugin hasn't opted out for receiving PRs or
                 // override the default behaviour
                 if (!plugin.getModifiedFiles().isEmpty() && (!isOptOutPlugin || config.isOverrideOptOutPlugins())) {
-                    plugin.fork(ghService);
-                    plugin.sync(ghService);
-                    plugin.push(ghService);
-                    plugin.openPullRequest(ghService);
+                    timings.time(Phase.FORK, () -> plugin.fork(ghService));
+                    timings.time(Phase.SYNC, () -> plugin.sync(ghService));
+                    timings.time(Phase.PUSH, () -> plugin.push(ghService));
+                    timings.time(Phase.PULL_REQUEST, () -> plugin.openPullRequest(ghService));
                 } else {
                     if (isOptOutPlugin) {
                         LOG.info(
@@ -396,7 +504,7 @@ public class PluginModernizer {
                 }
 
                 if (config.isRemoveForks()) {
-                    plugin.deleteFork(ghService);
+                    timings.time(Phase.DELETE_FORK, () -> plugin.deleteFork(ghService));
                 }
             }
 
@@ -404,33 +512,93 @@ public class PluginModernizer {
         // Uncatched plugin processing errors
         catch (PluginProcessingException e) {
             if (!plugin.hasErrors()) {
-                plugin.addError("Plugin processing error. Check the logs at " + plugin.getLogFile(), e);
+                plugin.addError("Plugin processing error. Check the logs at " + getLogFiles(plugin), e);
             }
         }
         // Catch any unexpected exception here
         catch (Exception e) {
             if (!plugin.hasErrors()) {
-                plugin.addError("Unexpected processing error. Check the logs at " + plugin.getLogFile(), e);
+                plugin.addError("Unexpected processing error. Check the logs at " + getLogFiles(plugin), e);
             }
         } finally {
+            // Don't leave a fork behind if the plugin stopped before pushing
+            plugin.discardBackgroundFork(ghService);
             if (!config.isSkipMetadata() && !earlySkip) {
+                PhaseTimings timings = plugin.getTimings();
                 try {
                     // collect the modernization metadata and push it to metadata repository if valid
-                    collectModernizationMetadata(plugin);
-                    validateModernizationMetadata(plugin);
-                    plugin.fetchMetadata(ghService);
-                    plugin.forkMetadata(ghService);
-                    plugin.syncMetadata(ghService);
-                    plugin.checkoutMetadataBranch(ghService);
-                    plugin.copyMetadataToLocalMetadataRepo(cacheManager);
-                    plugin.commitMetadata(ghService);
-                    plugin.pushMetadata(ghService);
-                    plugin.openMetadataPullRequest(ghService);
+                    timings.time(Phase.MODERNIZATION_METADATA, () -> {
+                        collectModernizationMetadata(plugin);
+                        validateModernizationMetadata(plugin);
+                    });
+                    // The metadata repository is checked out once for all plugins
+                    long waitStart = System.nanoTime();
+                    synchronized (metadataLock) {
+                        timings.record(Phase.METADATA_LOCK, Duration.ofNanos(System.nanoTime() - waitStart));
+                        timings.time(Phase.METADATA_FETCH, () -> plugin.fetchMetadata(ghService));
+                        timings.time(Phase.METADATA_FORK, () -> plugin.forkMetadata(ghService));
+                        timings.time(Phase.METADATA_SYNC, () -> plugin.syncMetadata(ghService));
+                        timings.time(Phase.METADATA_COMMIT, () -> {
+                            plugin.checkoutMetadataBranch(ghService);
+                            plugin.copyMetadataToLocalMetadataRepo(cacheManager);
+                            plugin.commitMetadata(ghService);
+                        });
+                        timings.time(Phase.METADATA_PUSH, () -> plugin.pushMetadata(ghService));
+                        timings.time(Phase.METADATA_PULL_REQUEST, () -> plugin.openMetadataPullRequest(ghService));
+                    }
                 } catch (Exception e) {
                     plugin.addError("Failed to collect modernization metadata for plugin " + plugin.getName(), e);
                 }
             }
+            if (!earlySkip) {
+                plugin.getTimings().record(Phase.TOTAL, Duration.ofNanos(System.nanoTime() - start));
+            }
+        }
+    }
+
+    /**
+     * Get the JDKs needed to process the plugins from their cached metadata, including the JDK running OpenRewrite.
+     * Plugins without cached metadata download their JDK when first needed
+     * @param plugins The plugins
+     * @return The JDKs
+     */
+    private Set<JDK> getRequiredJdks(List<Plugin> plugins) {
+        Set<JDK> jdks = EnumSet.of(JDK.JAVA_21);
+        for (Plugin plugin : plugins) {
+            PluginMetadata metadata;
+            try {
+                metadata = cacheManager.peek(
+                        Path.of(plugin.getName()), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class);
+            } catch (ModernizerException e) {
+                LOG.debug("Unable to read cached metadata of plugin {}: {}", plugin.getName(), e.getMessage());
+                continue;
+            }
+            if (metadata == null) {
+                continue;
+            }
+            metadata.getJdks().stream().filter(Objects::nonNull).forEach(jdks::add);
+            jdks.add(JDK.min(metadata.getJdks(), metadata.getJenkinsVersion()));
         }
+        LOG.debug("JDKs required by plugins: {}", jdks);
+        return jdks;
+    }
+
+    /**
+     * Get the log files of a plugin for error messages
+     * @param plugin The plugin
+     * @return The plugin log file and the Maven log file
+     */
+    private String getLogFiles(Plugin plugin) {
+        return plugin.getLogFile() + " and " + plugin.getMavenLogFile();
+    }
+
+    /**
+     * Return if the plugin opted out of receiving pull requests
+     * @param plugin The plugin
+     * @return True if opted out
+     */
+    private boolean isOptedOut(Plugin plugin) {
+        return pluginService.getOptOutPluginsData().getOptedOutPlugins().contains(plugin.getName());
     }
 
     /**
@@ -506,6 +674,12 @@ public class PluginModernizer {
         modernizationMetadata.setAdditions(diffStats.additions());
         modernizationMetadata.setDeletions(diffStats.deletions());
         modernizationMetadata.setChangedFiles(diffStats.changedFiles());
+        PhaseTimings timings = plugin.getTimings();
+        modernizationMetadata.setPhaseDurations(timings.getDurations());
+        modernizationMetadata.setMavenExitCodes(timings.getMavenExecutions().stream()
+                .map(PhaseTimings.MavenExecution::exitCode)
+                .toList());
+        modernizationMetadata.setBytesFetched(timings.getBytesFetched());
         if (plugin.hasErrors() || plugin.hasPreconditionErrors()) {
             modernizationMetadata.setMigrationStatus("fail");
         } else {
@@ -621,6 +795,7 @@ public class PluginModernizer {
                     LOG.info(
                             "Dry run mode. Changes were made on " + plugin.getLocalRepository() + " but not committed");
                     printModifiedFiles(plugin);
+                    printPullRequestPreview(plugin);
                 } else if (plugin.isLocal()) {
                     LOG.info("Changes were made on " + plugin.getLocalRepository());
                     printModifiedFiles(plugin);
@@ -635,10 +810,52 @@ public class PluginModernizer {
             else {
                 LOG.info("Plugin {} was skipped", plugin.getName());
             }
+            printTimings(plugin);
             LOG.info("*************");
         }
     }
 
+    /**
+     * Print the time spent on each phase and the failed Maven executions of a plugin
+     * @param plugin The plugin
+     */
+    private void printTimings(Plugin plugin) {
+        PhaseTimings timings = plugin.getTimings();
+        if (timings == null || timings.isEmpty()) {
+            return;
+        }
+        LOG.info("Timings: {}", timings.summary());
+        if (timings.getBytesFetched() > 0) {
+            LOG.info("Fetched: {} KiB", timings.getBytesFetched() / 1024);
+        }
+        timings.getMavenExecutions().stream()
+                .filter(execution -> execution.exitCode() != 0)
+                .forEach(execution -> LOG.info(
+                        "Maven {} exited with code {} after {} ms",
+                        execution.goals(),
+                        execution.exitCode(),
+                        execution.durationMillis()));
+    }
+
+    /**
+     * Print the branch, commit message and pull request that would be created for a plugin with changes
+     * @param plugin The plugin
+     */
+    private void printPullRequestPreview(Plugin plugin) {
+        if (plugin.getModifiedFiles().isEmpty()) {
+            return;
+        }
+        try {
+            TemplateUtils.RenderedTemplates preview = TemplateUtils.renderAll(plugin, config.getRecipe());
+            LOG.info("Branch: {}", preview.branchName());
+            LOG.info("Commit message: {}", preview.commitMessage());
+            LOG.info("Pull request title: {}", preview.pullRequestTitle());
+            LOG.debug("Pull request body: {}", preview.pullRequestBody());
+        } catch (ModernizerException e) {
+            LOG.debug("Unable to render pull request preview for plugin {}", plugin.getName(), e);
+        }
+    }
+
     private void printModifiedFiles(Plugin plugin) {
         if (plugin.getModifiedFiles().isEmpty()) {
             LOG.info("Recipe didn't make any change.");
@@ -0,0 +1,78 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Flight recording of a whole run with the JDK default settings and the events of the tool.
+ * The recording is written to its destination when closed.
+ */
+public final class FlightRecording implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FlightRecording.class);
+
+    /**
+     * The recording or null if disabled
+     */
+    private final Recording recording;
+
+    /**
+     * Where the recording is written
+     */
+    private final Path destination;
+
+    private FlightRecording(Recording recording, Path destination) {
+        this.recording = recording;
+        this.destination = destination;
+    }
+
+    /**
+     * Start a recording
+     * @param destination The file receiving the recording or null to not record anything
+     * @return The recording to close at the end of the run
+     */
+    public static FlightRecording start(Path destination) {
+        if (destination == null) {
+            return new FlightRecording(null, null);
+        }
+        Path file = destination.toAbsolutePath();
+        try {
+            Path parent = file.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName("plugin-modernizer");
+            recording.enable(MavenInvocationEvent.class);
+            recording.enable(GitOperationEvent.class);
+            recording.enable(GitHubApiCallEvent.class);
+            recording.setToDisk(true);
+            recording.setDestination(file);
+            recording.start();
+            LOG.info("Flight recording started. It will be written to {}", file);
+            return new FlightRecording(recording, file);
+        } catch (IOException | ParseException e) {
+            throw new ModernizerException("Unable to start flight recording to " + file, e);
+        }
+    }
+
+    /**
+     * Stop the recording and write it to its destination
+     */
+    @Override
+    public void close() {
+        if (recording == null) {
+            return;
+        }
+        recording.stop();
+        recording.close();
+        LOG.info("Flight recording written to {}", destination);
+    }
+}
@@ -0,0 +1,59 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a GitHub REST API call
+ */
+@Name("io.jenkins.tools.pluginmodernizer.GitHubApiCall")
+@Label("GitHub API Call")
+@Description("A request sent to the GitHub REST API")
+@Category({"Plugin Modernizer", "GitHub"})
+@StackTrace(false)
+public class GitHubApiCallEvent extends Event {
+
+    /**
+     * HTTP method
+     */
+    @Label("Method")
+    private String method;
+
+    /**
+     * Path of the endpoint (e.g. /repos/jenkinsci/git-plugin)
+     */
+    @Label("Endpoint")
+    private String endpoint;
+
+    /**
+     * HTTP status. 0 if no response was received
+     */
+    @Label("Status")
+    private int status;
+
+    /**
+     * Remaining requests of the rate limit. -1 if unknown
+     */
+    @Label("Rate Limit Remaining")
+    private int rateLimitRemaining = -1;
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public void setRateLimitRemaining(int rateLimitRemaining) {
+        this.rateLimitRemaining = rateLimitRemaining;
+    }
+}
@@ -0,0 +1,61 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a git operation on a remote repository
+ */
+@Name("io.jenkins.tools.pluginmodernizer.GitOperation")
+@Label("Git Operation")
+@Description("A clone, fetch or push of a plugin or metadata repository")
+@Category({"Plugin Modernizer", "Git"})
+@StackTrace(false)
+public class GitOperationEvent extends Event {
+
+    /**
+     * Name of the plugin
+     */
+    @Label("Plugin")
+    private String plugin;
+
+    /**
+     * Operation (clone, fetch or push)
+     */
+    @Label("Operation")
+    private String operation;
+
+    /**
+     * Remote repository
+     */
+    @Label("Remote")
+    private String remote;
+
+    /**
+     * Bytes of pack data downloaded. 0 when unknown
+     */
+    @Label("Bytes")
+    @DataAmount(DataAmount.BYTES)
+    private long bytes;
+
+    public void setPlugin(String plugin) {
+        this.plugin = plugin;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public void setRemote(String remote) {
+        this.remote = remote;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
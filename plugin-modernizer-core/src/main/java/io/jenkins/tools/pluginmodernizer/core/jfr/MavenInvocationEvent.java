@@ -0,0 +1,59 @@
+package io.jenkins.tools.pluginmodernizer.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a Maven build run for a plugin
+ */
+@Name("io.jenkins.tools.pluginmodernizer.MavenInvocation")
+@Label("Maven Invocation")
+@Description("A Maven build run for a plugin")
+@Category({"Plugin Modernizer", "Maven"})
+@StackTrace(false)
+public class MavenInvocationEvent extends Event {
+
+    /**
+     * Name of the plugin
+     */
+    @Label("Plugin")
+    private String plugin;
+
+    /**
+     * Goals separated by spaces
+     */
+    @Label("Goals")
+    private String goals;
+
+    /**
+     * Major version of the JDK running the build. 0 for the default JDK
+     */
+    @Label("JDK")
+    private int jdk;
+
+    /**
+     * Exit code of the build
+     */
+    @Label("Exit Code")
+    private int exitCode;
+
+    public void setPlugin(String plugin) {
+        this.plugin = plugin;
+    }
+
+    public void setGoals(String goals) {
+        this.goals = goals;
+    }
+
+    public void setJdk(int jdk) {
+        this.jdk = jdk;
+    }
+
+    public void setExitCode(int exitCode) {
+        this.exitCode = exitCode;
+    }
+}
@@ -20,6 +20,16 @@ public abstract class CacheEntry<T extends CacheEntry<T>> {
      */
     private String path;
 
+    /**
+     * ETag of the remote data if downloaded
+     */
+    private String etag;
+
+    /**
+     * Last-Modified date of the remote data if downloaded
+     */
+    private String lastModified;
+
     /**
      * Cache manager
      */
@@ -69,6 +79,32 @@ public abstract class CacheEntry<T extends CacheEntry<T>> {
         return Path.of(path);
     }
 
+    /**
+     * Return the ETag of the remote data this entry was downloaded from
+     * @return The ETag or null
+     */
+    public final String getETag() {
+        return etag;
+    }
+
+    /**
+     * Return the Last-Modified date of the remote data this entry was downloaded from
+     * @return The Last-Modified date or null
+     */
+    public final String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Set the HTTP validators of the remote data this entry was downloaded from
+     * @param etag The ETag
+     * @param lastModified The Last-Modified date
+     */
+    public void setValidators(String etag, String lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
     /**
      * Return the cache manager
      * @return The cache manager
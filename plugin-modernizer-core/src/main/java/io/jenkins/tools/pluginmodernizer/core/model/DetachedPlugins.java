@@ -5,7 +5,10 @@ package io.jenkins.tools.pluginmodernizer.core.model;
  * # core release without the plugin's functionality when they should use the immediately prior release.
  * # Fixing these retroactively won't help, as the difference only matters to those specific versions.
  */
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import org.apache.maven.artifact.versioning.ComparableVersion;
 
 /**
  * Detached plugins.
@@ -129,12 +132,27 @@ public enum DetachedPlugins {
             Set.of("org.jenkinsci.main.modules.instance_identity.InstanceIdentity")),
     ;
 
+    /**
+     * Detached plugins by package and class name
+     */
+    private static final Map<String, DetachedPlugins> BY_NAME;
+
+    static {
+        Map<String, DetachedPlugins> byName = new HashMap<>();
+        for (DetachedPlugins plugin : values()) {
+            plugin.packageName.forEach(name -> byName.put(name, plugin));
+            plugin.classNames.forEach(name -> byName.put(name, plugin));
+        }
+        BY_NAME = Map.copyOf(byName);
+    }
+
     private final String pluginId;
     private final String lastCoreRelease;
     private final String impliedVersion;
     private final String groupId;
     private final Set<String> packageName;
     private final Set<String> classNames;
+    private final ComparableVersion lastCoreReleaseVersion;
 
     DetachedPlugins(
             String pluginId,
@@ -149,6 +167,7 @@ public enum DetachedPlugins {
         this.groupId = groupId;
         this.packageName = packageName;
         this.classNames = classNames;
+        this.lastCoreReleaseVersion = new ComparableVersion(lastCoreRelease);
     }
 
     public String getPluginId() {
@@ -174,4 +193,21 @@ public enum DetachedPlugins {
     public Set<String> getClassNames() {
         return classNames;
     }
+
+    /**
+     * Return if the plugin is no longer part of the given Jenkins core version
+     * @param jenkinsVersion The Jenkins version
+     * @return True if the version is after the last core release including the plugin
+     */
+    public boolean isDetachedIn(ComparableVersion jenkinsVersion) {
+        return jenkinsVersion.compareTo(lastCoreReleaseVersion) > 0;
+    }
+
+    /**
+     * Get the detached plugins by package and class name
+     * @return The unmodifiable map of plugins by name
+     */
+    public static Map<String, DetachedPlugins> byName() {
+        return BY_NAME;
+    }
 }
@@ -9,6 +9,8 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.maven.artifact.versioning.ComparableVersion;
 
 /**
@@ -55,6 +57,16 @@ public enum JDK {
      */
     private final String latestTestHarnessVersion;
 
+    /**
+     * The compatibility since parsed once, null if compatible with any core version
+     */
+    private final ComparableVersion compatibleSinceVersion;
+
+    /**
+     * The maximum core version parsed once, null if compatible with any newer core version
+     */
+    private final ComparableVersion maximumCoreComparableVersion;
+
     /**
      * Constructor
      * @param major The Java major version
@@ -69,8 +81,23 @@ public enum JDK {
         this.compatibleSince = compatibleSince;
         this.maximumCoreVersion = maximumCoreVersion;
         this.latestTestHarnessVersion = latestTestHarnessVersion;
+        this.compatibleSinceVersion = compatibleSince != null ? new ComparableVersion(compatibleSince) : null;
+        this.maximumCoreComparableVersion =
+                maximumCoreVersion != null ? new ComparableVersion(maximumCoreVersion) : null;
     }
 
+    /**
+     * All JDKs sorted by major version
+     */
+    private static final List<JDK> SORTED =
+            Arrays.stream(values()).sorted(JDK::compareMajor).toList();
+
+    /**
+     * Buildable JDKs sorted by major version, memoized by Jenkins version.
+     * Only a few distinct core versions are seen in a run, so entries are never evicted
+     */
+    private static final ConcurrentMap<String, List<JDK>> BUILDABLE_BY_JENKINS_VERSION = new ConcurrentHashMap<>();
+
     /**
      * Get the major version
      * @return The major version
@@ -139,12 +166,8 @@ public enum JDK {
      * @return The next JDK
      */
     public JDK next() {
-        int major = getMajor();
-        return Arrays.stream(JDK.values())
-                .sorted(Comparator.comparingInt(JDK::getMajor))
-                .filter(jdk -> jdk.getMajor() > major)
-                .findFirst()
-                .orElse(null);
+        int index = SORTED.indexOf(this);
+        return index < SORTED.size() - 1 ? SORTED.get(index + 1) : null;
     }
 
     /**
@@ -152,12 +175,8 @@ public enum JDK {
      * @return The previous JDK
      */
     public JDK previous() {
-        int major = getMajor();
-        return Arrays.stream(JDK.values())
-                .sorted(Comparator.comparingInt(JDK::getMajor).reversed())
-                .filter(jdk -> jdk.getMajor() < major)
-                .findFirst()
-                .orElse(null);
+        int index = SORTED.indexOf(this);
+        return index > 0 ? SORTED.get(index - 1) : null;
     }
 
     /**
@@ -213,10 +232,12 @@ public enum JDK {
      * @return The JDK or null if not found
      */
     public static JDK get(int major) {
-        return Arrays.stream(JDK.values())
-                .filter(j -> j.getMajor() == major)
-                .findFirst()
-                .orElse(null);
+        for (JDK jdk : SORTED) {
+            if (jdk.getMajor() == major) {
+                return jdk;
+            }
+        }
+        return null;
     }
 
     /**
@@ -224,13 +245,16 @@ public enum JDK {
      * @return The latest JDK
      */
     public static JDK max() {
-        JDK jdk = null;
-        for (JDK j : JDK.values()) {
-            if (jdk == null || j.getMajor() > jdk.getMajor()) {
-                jdk = j;
-            }
-        }
-        return jdk;
+        return SORTED.getLast();
+    }
+
+    /**
+     * Get the latest JDK able to build a given Jenkins version
+     * @param jenkinsVersion The Jenkins version
+     * @return The latest buildable JDK
+     */
+    public static JDK max(String jenkinsVersion) {
+        return get(jenkinsVersion).getLast();
     }
 
     /**
@@ -238,13 +262,7 @@ public enum JDK {
      * @return The oldest JDK
      */
     public static JDK min() {
-        JDK jdk = null;
-        for (JDK j : JDK.values()) {
-            if (jdk == null || j.getMajor() < jdk.getMajor()) {
-                jdk = j;
-            }
-        }
-        return jdk;
+        return SORTED.getFirst();
     }
 
     /**
@@ -268,7 +286,7 @@ public enum JDK {
         if (jdks == null || jdks.isEmpty() && jenkinsVersion == null) {
             return JDK.min();
         }
-        return JDK.get(jenkinsVersion).stream().min(JDK::compareMajor).orElseThrow();
+        return JDK.get(jenkinsVersion).getFirst();
     }
 
     /**
@@ -276,36 +294,33 @@ public enum JDK {
      * @return The list of JDKs
      */
     public static List<JDK> all() {
-        return Arrays.stream(values()).sorted(JDK::compareMajor).toList();
+        return SORTED;
     }
 
     /**
      * Get list of buildable JDKs for a given Jenkins version
      * @param jenkinsVersion The Jenkins version
-     * @return The list of buildable JDKs
+     * @return The immutable list of buildable JDKs sorted by major version
      */
     public static List<JDK> get(String jenkinsVersion) {
         if (jenkinsVersion == null || jenkinsVersion.isEmpty()) {
             return List.of(JDK.min());
         }
+        return BUILDABLE_BY_JENKINS_VERSION.computeIfAbsent(jenkinsVersion, JDK::buildable);
+    }
+
+    /**
+     * Compute the buildable JDKs of a Jenkins version from the pre-parsed core versions
+     * @param jenkinsVersion The Jenkins version
+     * @return The immutable list of buildable JDKs sorted by major version
+     */
+    private static List<JDK> buildable(String jenkinsVersion) {
         ComparableVersion jenkinsVersionComparable = new ComparableVersion(jenkinsVersion);
-        return Arrays.stream(JDK.values())
-
-                // Filter since
-                .filter(jdk -> {
-                    if (jdk.getCompatibleSince() == null) {
-                        return true;
-                    }
-                    ComparableVersion compatibleSince = new ComparableVersion(jdk.getCompatibleSince());
-                    return jenkinsVersionComparable.compareTo(compatibleSince) >= 0;
-                })
-                .filter(jdk -> {
-                    if (jdk.getMaxCoreVersion() == null) {
-                        return true;
-                    }
-                    ComparableVersion maxCoreVersion = new ComparableVersion(jdk.getMaxCoreVersion());
-                    return jenkinsVersionComparable.compareTo(maxCoreVersion) <= 0;
-                })
+        return SORTED.stream()
+                .filter(jdk -> jdk.compatibleSinceVersion == null
+                        || jenkinsVersionComparable.compareTo(jdk.compatibleSinceVersion) >= 0)
+                .filter(jdk -> jdk.maximumCoreComparableVersion == null
+                        || jenkinsVersionComparable.compareTo(jdk.maximumCoreComparableVersion) <= 0)
                 .toList();
     }
 
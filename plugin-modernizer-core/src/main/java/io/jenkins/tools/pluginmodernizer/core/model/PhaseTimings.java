@@ -0,0 +1,198 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Time spent by a plugin on each processing phase, with the Maven executions and the amount of git data fetched.
+ * A phase run several times (like metadata collection) accumulates its durations.
+ */
+public class PhaseTimings {
+
+    /**
+     * Phases of the processing of a plugin
+     */
+    public enum Phase {
+        FETCH("fetch"),
+        LOAD_METADATA("loadMetadata"),
+        COMPILE("compile"),
+        CHECKOUT("checkout"),
+        COLLECT_METADATA("collectMetadata"),
+        REMEDIATION("remediation"),
+        RUN_OPENREWRITE("runOpenRewrite"),
+        VERIFY("verify"),
+        CLEAN("clean"),
+        COMMIT("commit"),
+        FORK("fork"),
+        SYNC("sync"),
+        PUSH("push"),
+        PULL_REQUEST("pullRequest"),
+        DELETE_FORK("deleteFork"),
+        MODERNIZATION_METADATA("modernizationMetadata"),
+        METADATA_LOCK("metadataLock"),
+        METADATA_FETCH("metadataFetch"),
+        METADATA_FORK("metadataFork"),
+        METADATA_SYNC("metadataSync"),
+        METADATA_COMMIT("metadataCommit"),
+        METADATA_PUSH("metadataPush"),
+        METADATA_PULL_REQUEST("metadataPullRequest"),
+        TOTAL("total");
+
+        /**
+         * Name of the phase in reports
+         */
+        private final String name;
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Get the name of the phase in reports
+         * @return The name
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * A Maven execution
+     * @param goals The goals
+     * @param exitCode The exit code
+     * @param durationMillis The duration in milliseconds
+     */
+    public record MavenExecution(String goals, int exitCode, long durationMillis) {}
+
+    /**
+     * Accumulated duration in milliseconds by phase name
+     */
+    private final Map<String, Long> durations = new LinkedHashMap<>();
+
+    /**
+     * Number of runs by phase name
+     */
+    private final Map<String, Integer> counts = new LinkedHashMap<>();
+
+    /**
+     * Maven executions in order
+     */
+    private final List<MavenExecution> mavenExecutions = new ArrayList<>();
+
+    /**
+     * Bytes of git packs downloaded
+     */
+    private long bytesFetched;
+
+    /**
+     * Run an action and record its duration
+     * @param phase The phase
+     * @param action The action
+     */
+    public void time(Phase phase, Runnable action) {
+        time(phase, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run an action and record its duration, even if it fails
+     * @param phase The phase
+     * @param action The action
+     * @param <T> The type of the result
+     * @return The result of the action
+     */
+    public <T> T time(Phase phase, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(phase, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Record a duration for the given phase
+     * @param phase The phase
+     * @param duration The duration
+     */
+    public synchronized void record(Phase phase, Duration duration) {
+        durations.merge(phase.getName(), duration.toMillis(), Long::sum);
+        counts.merge(phase.getName(), 1, Integer::sum);
+    }
+
+    /**
+     * Record a Maven execution
+     * @param goals The goals
+     * @param exitCode The exit code
+     * @param duration The duration
+     */
+    public synchronized void addMavenExecution(String goals, int exitCode, Duration duration) {
+        mavenExecutions.add(new MavenExecution(goals, exitCode, duration.toMillis()));
+    }
+
+    /**
+     * Record downloaded git data
+     * @param bytes The number of bytes
+     */
+    public synchronized void addBytesFetched(long bytes) {
+        bytesFetched += bytes;
+    }
+
+    /**
+     * Get the accumulated durations in milliseconds by phase name, in the order phases were first run
+     * @return The durations
+     */
+    public synchronized Map<String, Long> getDurations() {
+        return new LinkedHashMap<>(durations);
+    }
+
+    /**
+     * Get the number of runs by phase name
+     * @return The counts
+     */
+    public synchronized Map<String, Integer> getCounts() {
+        return new LinkedHashMap<>(counts);
+    }
+
+    /**
+     * Get the Maven executions in order
+     * @return The Maven executions
+     */
+    public synchronized List<MavenExecution> getMavenExecutions() {
+        return List.copyOf(mavenExecutions);
+    }
+
+    /**
+     * Get the bytes of git packs downloaded
+     * @return The number of bytes
+     */
+    public synchronized long getBytesFetched() {
+        return bytesFetched;
+    }
+
+    /**
+     * Return if nothing was recorded
+     * @return True if empty
+     */
+    public synchronized boolean isEmpty() {
+        return durations.isEmpty() && mavenExecutions.isEmpty();
+    }
+
+    /**
+     * Human-readable summary of the durations
+     * @return The summary, e.g. fetch=1.2s, compile=35.0s
+     */
+    public synchronized String summary() {
+        return durations.entrySet().stream()
+                .map(e -> String.format(Locale.ROOT, "%s=%.1fs", e.getKey(), e.getValue() / 1000.0))
+                .collect(Collectors.joining(", "));
+    }
+}
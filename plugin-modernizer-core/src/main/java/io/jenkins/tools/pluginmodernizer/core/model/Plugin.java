@@ -9,33 +9,35 @@ import io.jenkins.tools.pluginmodernizer.core.github.GHService;
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
 import io.jenkins.tools.pluginmodernizer.core.impl.MavenInvoker;
 import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
+import io.jenkins.tools.pluginmodernizer.core.utils.StaticPomParser;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathFactory;
 import org.kohsuke.github.GHRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
-import org.w3c.dom.Document;
 
 /**
  * Mutable class representing a Jenkins plugin to modernize and refactor
@@ -80,6 +82,17 @@ public class Plugin {
      */
     private PluginMetadata metadata;
 
+    /**
+     * Key of the metadata for the fetched revision, tool version and recipes. Null if unknown
+     */
+    private String metadataFingerprint;
+
+    /**
+     * Static snapshot of the pom file of the plugin. Refreshed each time metadata are collected
+     * and discarded each time the tool modifies the working tree
+     */
+    private StaticPomParser pom;
+
     /**
      * The modernization-metadata of the plugin
      */
@@ -136,17 +149,27 @@ public class Plugin {
     /**
      * Return if the plugin has any error
      */
-    private final List<PluginProcessingException> errors = new LinkedList<>();
+    private final List<PluginProcessingException> errors = new CopyOnWriteArrayList<>();
 
     /**
      * List of modified files(added, modified, deleted) in the plugin
      */
-    private final List<String> modifiedFiles = new LinkedList<>();
+    private final List<String> modifiedFiles = new CopyOnWriteArrayList<>();
 
     /**
      * Tags to apply on pull request for the applied changes
      */
-    private final Set<String> tags = new HashSet<>();
+    private final Set<String> tags = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Time spent on each processing phase
+     */
+    private final PhaseTimings timings = new PhaseTimings();
+
+    /**
+     * If the Maven log file already received output during this run
+     */
+    private final AtomicBoolean mavenLogStarted = new AtomicBoolean();
 
     private Plugin() {}
 
@@ -627,6 +650,30 @@ public class Plugin {
         return Path.of(getName(), "logs", "invoker.logs");
     }
 
+    /**
+     * Get the path of the file receiving the Maven output for the plugin
+     * @return Path of the Maven log file
+     */
+    public Path getMavenLogFile() {
+        return Path.of(getName(), "logs", "maven.logs");
+    }
+
+    /**
+     * Mark the Maven log file as started for this run
+     * @return True on the first Maven invocation of the run, when output of previous runs must be discarded
+     */
+    public boolean startMavenLog() {
+        return mavenLogStarted.compareAndSet(false, true);
+    }
+
+    /**
+     * Get the time spent on each processing phase
+     * @return The phase timings
+     */
+    public PhaseTimings getTimings() {
+        return timings;
+    }
+
     /**
      * Get the login marker for the plugin
      * @return Marker object
@@ -732,6 +779,7 @@ public class Plugin {
                 name,
                 this.getJDK().getMajor());
         maven.invokeGoal(this, "spotless:apply");
+        invalidatePom();
         LOG.info("Done");
     }
 
@@ -756,21 +804,18 @@ public class Plugin {
      */
     public void collectMetadata(MavenInvoker maven) {
 
-        XPathFactory xPathFactory = XPathFactory.newInstance();
-        XPath xpath = xPathFactory.newXPath();
-
         // Static parse of the pom file and check for pattern preventing minimal build
         Path pom = getLocalRepository().resolve("pom.xml");
         if (!getLocalRepository().resolve("target").toFile().mkdir()) {
             LOG.trace("Failed to create target directory for plugin {}", name);
         }
-        Document document = staticPomParse(pom);
+        StaticPomParser pomSnapshot = staticPomParse(pom);
 
         // Collect precondition errors
         PluginMetadata pluginMetadata = new PluginMetadata();
         pluginMetadata.setCacheManager(buildPluginTargetDirectoryCacheManager());
         pluginMetadata.setErrors(Arrays.stream(PreconditionError.values())
-                .filter(error -> error.isApplicable(document, xpath))
+                .filter(error -> error.isApplicable(pomSnapshot))
                 .collect(Collectors.toSet()));
 
         if (!pluginMetadata.getErrors().isEmpty()) {
@@ -793,7 +838,13 @@ public class Plugin {
             LOG.info("Skipping OpenRewrite recipe application for plugin {} as only metadata is required", name);
             return;
         }
-        maven.invokeRewrite(this);
+        // Metadata left in the target directory by a previous run must not be mistaken for the one of this run
+        buildPluginTargetDirectoryCacheManager().remove(Path.of("."), CacheManager.PLUGIN_METADATA_CACHE_KEY);
+        try {
+            maven.invokeRewrite(this);
+        } finally {
+            invalidatePom();
+        }
     }
 
     /**
@@ -808,6 +859,22 @@ public class Plugin {
         service.fork(this, RepoType.PLUGIN);
     }
 
+    /**
+     * Start forking this plugin in the background if it has local changes
+     * @param service The GitHub service
+     */
+    public void forkInBackground(GHService service) {
+        service.forkInBackground(this);
+    }
+
+    /**
+     * Discard the fork started in the background if it was not used to push the changes
+     * @param service The GitHub service
+     */
+    public void discardBackgroundFork(GHService service) {
+        service.discardBackgroundFork(this);
+    }
+
     /**
      * Fork the metadata
      * @param service The GitHub service
@@ -917,6 +984,7 @@ public class Plugin {
      */
     public void checkoutBranch(GHService service) {
         service.checkoutBranch(this, RepoType.PLUGIN);
+        invalidatePom();
     }
 
     /**
@@ -981,6 +1049,7 @@ public class Plugin {
      */
     public void fetch(GHService service) {
         service.fetch(this, RepoType.PLUGIN);
+        invalidatePom();
     }
 
     /**
@@ -1059,6 +1128,91 @@ public class Plugin {
         setMetadata(cacheManager.get(Path.of(getName()), CacheManager.PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class));
     }
 
+    /**
+     * Resolve the key of the metadata for the revision fetched, the tool version and the recipes.
+     * The JDK is not part of the key as metadata is always collected with JDK 21
+     * @param service The GitHub service
+     */
+    public void resolveMetadataFingerprint(GHService service) {
+        String head = service.getHeadCommit(this, RepoType.PLUGIN);
+        if (head == null) {
+            metadataFingerprint = null;
+            return;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String key = String.join("\n", head, String.valueOf(config.getVersion()), Settings.RECIPES_DIGEST);
+            metadataFingerprint = HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+            LOG.debug("Plugin {} metadata fingerprint for revision {}: {}", name, head, metadataFingerprint);
+        } catch (NoSuchAlgorithmException e) {
+            throw new ModernizerException("Unable to compute metadata fingerprint", e);
+        }
+    }
+
+    /**
+     * Get the key of the metadata for the revision fetched, the tool version and the recipes
+     * @return The fingerprint or null if unknown (for example for local plugins)
+     */
+    public String getMetadataFingerprint() {
+        return metadataFingerprint;
+    }
+
+    /**
+     * Load the metadata collected for the same fingerprint. Such metadata never expire
+     * @param cacheManager The cache manager
+     * @return True if metadata was found
+     */
+    public boolean loadRevisionMetadata(CacheManager cacheManager) {
+        if (metadataFingerprint == null) {
+            return false;
+        }
+        PluginMetadata revisionMetadata =
+                cacheManager.peek(getRevisionMetadataPath(), metadataFingerprint + ".json", PluginMetadata.class);
+        if (revisionMetadata == null) {
+            LOG.debug("No metadata found for plugin {} with fingerprint {}", name, metadataFingerprint);
+            return false;
+        }
+        // Restore as current metadata
+        revisionMetadata.setPath(Path.of(getName()));
+        revisionMetadata.setKey(CacheManager.PLUGIN_METADATA_CACHE_KEY);
+        cacheManager.put(revisionMetadata);
+        setMetadata(revisionMetadata);
+        LOG.info("Reusing metadata of plugin {} collected for the same revision", name);
+        return true;
+    }
+
+    /**
+     * Store the current metadata under its fingerprint (revision, tool version and recipes).
+     * Only the latest fingerprint is kept, metadata stored for previous fingerprints is removed
+     * @param cacheManager The cache manager
+     */
+    public void storeRevisionMetadata(CacheManager cacheManager) {
+        if (metadataFingerprint == null || metadata == null) {
+            return;
+        }
+        metadata.copy(cacheManager, getRevisionMetadataPath(), metadataFingerprint + ".json");
+        pruneRevisionMetadata(cacheManager);
+    }
+
+    /**
+     * Remove the metadata stored for other fingerprints than the current one
+     * @param cacheManager The cache manager
+     */
+    private void pruneRevisionMetadata(CacheManager cacheManager) {
+        Path directory = cacheManager.getLocation().resolve(getRevisionMetadataPath());
+        String current = metadataFingerprint + ".json";
+        try (DirectoryStream<Path> stored = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : stored) {
+                if (!file.getFileName().toString().equals(current)) {
+                    Files.deleteIfExists(file);
+                    LOG.debug("Removed metadata of plugin {} stored for previous fingerprint {}", name, file);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to remove previous metadata of plugin {} from {}: {}", name, directory, e.getMessage());
+        }
+    }
+
     /**
      * Get the modernization metadata of the plugin
      * @return Modernization metadata
@@ -1092,6 +1246,50 @@ public class Plugin {
                 getMetadata().getLocation().toAbsolutePath());
     }
 
+    /**
+     * Copy metadata collected after the recipe from plugin target directory to cache.
+     * The current metadata is kept until the modernization is verified.
+     * Nothing is stashed if the recipe run didn't write metadata to the target directory
+     * @param cacheManager The cache manager
+     */
+    public void stashModernizedMetadata(CacheManager cacheManager) {
+        cacheManager.remove(Path.of(getName()), CacheManager.MODERNIZED_PLUGIN_METADATA_CACHE_KEY);
+        CacheManager pluginCacheManager = buildPluginTargetDirectoryCacheManager();
+        if (!Files.isRegularFile(pluginCacheManager.getLocation().resolve(CacheManager.PLUGIN_METADATA_CACHE_KEY))) {
+            LOG.debug("No metadata collected by the recipe run of plugin {}", getName());
+            return;
+        }
+        pluginCacheManager.copy(
+                cacheManager,
+                Path.of(getName()),
+                CacheManager.MODERNIZED_PLUGIN_METADATA_CACHE_KEY,
+                new PluginMetadata(pluginCacheManager));
+    }
+
+    /**
+     * Replace the metadata by the one stashed after the recipe
+     * @param cacheManager The cache manager
+     * @return True if stashed metadata was found
+     */
+    public boolean restoreModernizedMetadata(CacheManager cacheManager) {
+        PluginMetadata modernized = cacheManager.get(
+                Path.of(getName()), CacheManager.MODERNIZED_PLUGIN_METADATA_CACHE_KEY, PluginMetadata.class);
+        if (modernized == null) {
+            return false;
+        }
+        modernized = cacheManager.move(
+                cacheManager, Path.of(getName()), CacheManager.PLUGIN_METADATA_CACHE_KEY, modernized);
+        if (modernized == null) {
+            return false;
+        }
+        setMetadata(modernized);
+        LOG.debug(
+                "Restored plugin {} metadata collected after modernization: {}",
+                getName(),
+                getMetadata().getLocation().toAbsolutePath());
+        return true;
+    }
+
     /**
      * Copy metadata from plugin directory to local metadata repo
      * @param cacheManager The cache manager
@@ -1182,6 +1380,14 @@ public class Plugin {
         return Set.of(modifiedFiles.toArray(new String[0]));
     }
 
+    /**
+     * Directory in cache holding metadata by fingerprint
+     * @return The path relative to the cache root
+     */
+    private Path getRevisionMetadataPath() {
+        return Path.of(getName()).resolve("metadata");
+    }
+
     /**
      * Build cache manager for this plugin
      * @return Cache manager
@@ -1206,23 +1412,40 @@ public class Plugin {
     }
 
     /**
-     * Static parse of the pom file to a XML document
+     * Get the static snapshot of the pom file of the plugin. The pom is only parsed if no snapshot was taken yet
+     * @return The pom snapshot
+     */
+    public StaticPomParser getPom() {
+        if (pom == null) {
+            pom = new StaticPomParser(getLocalRepository().resolve("pom.xml").toString());
+        }
+        return pom;
+    }
+
+    /**
+     * Discard the static snapshot of the pom file after the tool modified the working tree.
+     * The pom is parsed again on next access
+     */
+    public void invalidatePom() {
+        this.pom = null;
+    }
+
+    /**
+     * Static parse of the pom file to a snapshot kept on the plugin
      * @param pom The path to the pom file
-     * @return The XML document
+     * @return The pom snapshot
      */
-    private Document staticPomParse(Path pom) {
+    private StaticPomParser staticPomParse(Path pom) {
+        this.pom = null;
         if (pom == null || !pom.toFile().exists()) {
             addError("No pom file found");
             raiseLastError();
             return null;
         }
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            return builder.parse(pom.toFile());
-        } catch (Exception e) {
+            this.pom = new StaticPomParser(pom.toString());
+            return this.pom;
+        } catch (ModernizerException e) {
             addError("Failed to parse pom file: " + pom, e);
             raiseLastError();
             return null;
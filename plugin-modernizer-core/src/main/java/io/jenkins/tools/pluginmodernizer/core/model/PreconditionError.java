@@ -1,16 +1,13 @@
 package io.jenkins.tools.pluginmodernizer.core.model;
 
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.utils.StaticPomParser;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
 
 /**
  * Enum to represent the precondition errors preventing any modernization process
@@ -24,7 +21,7 @@ public enum PreconditionError {
      * No pom file found
      */
     NO_POM(
-            (document, xpath) -> document == null,
+            pom -> pom == null,
             plugin -> false, // No remediation function available if pom is missing
             "No pom file found"),
 
@@ -32,26 +29,16 @@ public enum PreconditionError {
      * If the plugin is using an older java level bellow 8
      */
     OLDER_JAVA_LEVEL(
-            (document, xpath) -> {
-                if (document == null) {
+            pom -> {
+                if (pom == null) {
                     return false;
                 }
-                try {
-                    String javaLevel = (String) xpath.evaluate(
-                            "//*[local-name()='project']/*[local-name()='properties']/*[local-name()='java.level']",
-                            document,
-                            XPathConstants.STRING);
-                    if (javaLevel == null) {
-                        return false;
-                    }
-                    // Change to 8
-                    if (javaLevel.equals("5") || javaLevel.equals("6") || javaLevel.equals("7")) {
-                        return true;
-                    }
-                    return false;
-                } catch (Exception e) {
+                String javaLevel = pom.getProperty("java.level");
+                if (javaLevel == null) {
                     return false;
                 }
+                // Change to 8
+                return javaLevel.equals("5") || javaLevel.equals("6") || javaLevel.equals("7");
             },
             plugin -> {
                 try {
@@ -75,19 +62,12 @@ public enum PreconditionError {
      * Parent with 1.x doesn't work because of unfixed versionRange
      */
     PARENT_POM_1X(
-            (document, xpath) -> {
-                if (document == null) {
-                    return false;
-                }
-                try {
-                    Double parentVersion = (Double) xpath.evaluate(
-                            "count(//*[local-name()='project']/*[local-name()='parent']/*[local-name()='version' and starts-with(., '1.')])",
-                            document,
-                            XPathConstants.NUMBER);
-                    return parentVersion != null && !parentVersion.equals(0.0);
-                } catch (Exception e) {
+            pom -> {
+                if (pom == null) {
                     return false;
                 }
+                String parentVersion = pom.getParentVersion();
+                return parentVersion != null && parentVersion.startsWith("1.");
             },
             plugin -> {
                 try {
@@ -117,27 +97,13 @@ public enum PreconditionError {
      * If the plugin has HTTP repositories preventing modernization
      */
     MAVEN_REPOSITORIES_HTTP(
-            (document, xpath) -> {
-                if (document == null) {
-                    return false;
-                }
-                try {
-                    NodeList repositoryUrls = (NodeList) xpath.evaluate(
-                            "//*[local-name()='project']/*[local-name()='repositories']/*[local-name()='repository']/*[local-name()='url']",
-                            document,
-                            XPathConstants.NODESET);
-
-                    int nonHttpsCount = 0;
-                    for (int i = 0; i < repositoryUrls.getLength(); i++) {
-                        String url = repositoryUrls.item(i).getTextContent().trim();
-                        if (!url.startsWith("https") && !url.startsWith("${") && !url.startsWith("file://")) {
-                            nonHttpsCount++;
-                        }
-                    }
-                    return nonHttpsCount > 0;
-                } catch (Exception e) {
+            pom -> {
+                if (pom == null) {
                     return false;
                 }
+                return pom.getRepositoryUrls().stream()
+                        .anyMatch(url ->
+                                !url.startsWith("https") && !url.startsWith("${") && !url.startsWith("file://"));
             },
             plugin -> {
                 try {
@@ -157,9 +123,9 @@ public enum PreconditionError {
             "Found non-https repository URL in pom file preventing maven older than 3.8.1");
 
     /**
-     * Predicate to check if the flag is applicable for the given Document and XPath
+     * Predicate to check if the flag is applicable for the given pom snapshot
      */
-    private final BiFunction<Document, XPath, Boolean> isApplicable;
+    private final Predicate<StaticPomParser> isApplicable;
 
     /**
      * Remediation function to fix the error transforming plugin before OpenRewrite
@@ -175,33 +141,36 @@ public enum PreconditionError {
     /**
      * Constructor
      *
-     * @param isApplicable Predicate to check if the flag is applicable for the given XML document
+     * @param isApplicable Predicate to check if the flag is applicable for the given pom snapshot
      */
-    PreconditionError(
-            BiFunction<Document, XPath, Boolean> isApplicable, Function<Plugin, Boolean> remediation, String error) {
+    PreconditionError(Predicate<StaticPomParser> isApplicable, Function<Plugin, Boolean> remediation, String error) {
         this.isApplicable = isApplicable;
         this.remediation = remediation;
         this.error = error;
     }
 
     /**
-     * Check if the flag is applicable for the given Document and XPath
+     * Check if the flag is applicable for the given pom snapshot
      *
-     * @param Document the XML document
-     * @param xpath    the XPath object
+     * @param pom the pom snapshot or null if the pom is missing
      * @return true if the flag is applicable, false otherwise
      */
-    public boolean isApplicable(Document Document, XPath xpath) {
-        return isApplicable.apply(Document, xpath);
+    public boolean isApplicable(StaticPomParser pom) {
+        return isApplicable.test(pom);
     }
 
     /**
-     * Remediate the error for the given plugin
+     * Remediate the error for the given plugin. The pom snapshot of the plugin is discarded as the remediation
+     * can modify the pom file
      *
      * @param plugin the plugin to remediate
      */
     public boolean remediate(Plugin plugin) {
-        return remediation.apply(plugin);
+        try {
+            return remediation.apply(plugin);
+        } finally {
+            plugin.invalidatePom();
+        }
     }
 
     /**
@@ -0,0 +1,201 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import io.jenkins.tools.pluginmodernizer.core.utils.JsonUtils;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Performance report of a run with the phase timings of each plugin and the distribution of each phase across plugins
+ */
+public class RunReport {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    /**
+     * Timings of a plugin
+     * @param plugin The plugin name
+     * @param status The status (success, fail or skipped)
+     * @param bytesFetched Bytes of git data downloaded
+     * @param durations Duration in milliseconds by phase
+     * @param counts Number of runs by phase
+     * @param mavenExecutions The Maven executions
+     */
+    public record PluginReport(
+            String plugin,
+            String status,
+            long bytesFetched,
+            Map<String, Long> durations,
+            Map<String, Integer> counts,
+            List<PhaseTimings.MavenExecution> mavenExecutions) {}
+
+    /**
+     * Distribution of the duration of a phase across plugins
+     * @param plugins Number of plugins that ran the phase
+     * @param totalMillis Sum of the durations
+     * @param p50Millis Median duration
+     * @param p95Millis 95th percentile of the durations
+     * @param maxMillis Longest duration
+     */
+    public record PhaseSummary(int plugins, long totalMillis, long p50Millis, long p95Millis, long maxMillis) {}
+
+    /**
+     * When the run started
+     */
+    private final Instant startedAt;
+
+    /**
+     * Name of the recipe
+     */
+    private final String recipe;
+
+    /**
+     * Timings of each plugin
+     */
+    private final List<PluginReport> plugins;
+
+    /**
+     * Distribution of each phase
+     */
+    private final Map<String, PhaseSummary> phases;
+
+    private RunReport(Instant startedAt, String recipe, List<PluginReport> plugins) {
+        this.startedAt = startedAt;
+        this.recipe = recipe;
+        this.plugins = plugins;
+        this.phases = summarize(plugins);
+    }
+
+    /**
+     * Build the report of processed plugins
+     * @param startedAt When the run started
+     * @param recipe Name of the recipe
+     * @param plugins The processed plugins
+     * @return The report
+     */
+    public static RunReport of(Instant startedAt, String recipe, List<Plugin> plugins) {
+        List<PluginReport> reports = new ArrayList<>();
+        for (Plugin plugin : plugins) {
+            PhaseTimings timings = plugin.getTimings();
+            if (timings == null || timings.isEmpty()) {
+                continue;
+            }
+            String status;
+            if (plugin.hasErrors() || plugin.hasPreconditionErrors()) {
+                status = "fail";
+            } else if (plugin.getMetadata() == null) {
+                status = "skipped";
+            } else {
+                status = "success";
+            }
+            reports.add(new PluginReport(
+                    plugin.getName(),
+                    status,
+                    timings.getBytesFetched(),
+                    timings.getDurations(),
+                    timings.getCounts(),
+                    timings.getMavenExecutions()));
+        }
+        return new RunReport(startedAt, recipe, reports);
+    }
+
+    /**
+     * Get the timings of each plugin
+     * @return The plugin reports
+     */
+    public List<PluginReport> getPlugins() {
+        return plugins;
+    }
+
+    /**
+     * Get the distribution of each phase across plugins
+     * @return The phase summaries by phase name
+     */
+    public Map<String, PhaseSummary> getPhases() {
+        return phases;
+    }
+
+    /**
+     * Write the report as JSON and CSV files named after the start of the run
+     * @param directory The report directory
+     * @return The path of the JSON report
+     */
+    public Path write(Path directory) {
+        String baseName = "run-" + FILE_TIMESTAMP.format(startedAt);
+        Path json = directory.resolve(baseName + ".json");
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("startedAt", startedAt.toString());
+        content.put("recipe", recipe);
+        content.put("plugins", plugins);
+        content.put("phases", phases);
+        // Also creates the directory receiving the CSV file
+        JsonUtils.toJsonFile(content, json);
+        try (Writer writer = Files.newBufferedWriter(directory.resolve(baseName + ".csv"), StandardCharsets.UTF_8)) {
+            writer.write("plugin,status,bytes_fetched,phase,calls,duration_ms\n");
+            for (PluginReport plugin : plugins) {
+                for (Map.Entry<String, Long> entry : plugin.durations().entrySet()) {
+                    writer.write("%s,%s,%d,%s,%d,%d\n"
+                            .formatted(
+                                    plugin.plugin(),
+                                    plugin.status(),
+                                    plugin.bytesFetched(),
+                                    entry.getKey(),
+                                    plugin.counts().getOrDefault(entry.getKey(), 0),
+                                    entry.getValue()));
+                }
+            }
+        } catch (IOException e) {
+            throw new ModernizerException("Unable to write run report to " + directory, e);
+        }
+        return json;
+    }
+
+    /**
+     * Compute the distribution of each phase
+     * @param plugins The plugin reports
+     * @return The phase summaries by phase name in order of first appearance
+     */
+    private static Map<String, PhaseSummary> summarize(List<PluginReport> plugins) {
+        Map<String, List<Long>> durations = new LinkedHashMap<>();
+        for (PluginReport plugin : plugins) {
+            plugin.durations()
+                    .forEach((phase, duration) ->
+                            durations.computeIfAbsent(phase, k -> new ArrayList<>()).add(duration));
+        }
+        Map<String, PhaseSummary> summaries = new LinkedHashMap<>();
+        durations.forEach((phase, values) -> {
+            List<Long> sorted = values.stream().sorted().toList();
+            long total = sorted.stream().mapToLong(Long::longValue).sum();
+            summaries.put(
+                    phase,
+                    new PhaseSummary(
+                            sorted.size(),
+                            total,
+                            percentile(sorted, 50),
+                            percentile(sorted, 95),
+                            sorted.get(sorted.size() - 1)));
+        });
+        return summaries;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values
+     * @param sorted The sorted values, not empty
+     * @param percentile The percentile between 1 and 100
+     * @return The value
+     */
+    static long percentile(List<Long> sorted, int percentile) {
+        int rank = (percentile * sorted.size() + 99) / 100;
+        return sorted.get(Math.max(rank, 1) - 1);
+    }
+}
@@ -1,7 +1,9 @@
 package io.jenkins.tools.pluginmodernizer.core.recipes;
 
 import io.jenkins.tools.pluginmodernizer.core.model.DetachedPlugins;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.openrewrite.ExecutionContext;
@@ -29,6 +31,11 @@ public class AddDetachedPluginDependency extends ScanningRecipe<Set<String>> {
     @Option(displayName = "Version", description = "Jenkins version.", example = "2.440.3")
     String jenkinsVersion;
 
+    /**
+     * Plugins detached before the Jenkins version by package and class name. Built on first scan
+     */
+    private transient Map<String, DetachedPlugins> detachedImports;
+
     /**
      * Constructor.
      * @param jenkinsVersion The Jenkins version.
@@ -61,26 +68,39 @@ public class AddDetachedPluginDependency extends ScanningRecipe<Set<String>> {
             @Override
             public J.Import visitImport(J.Import importStmt, ExecutionContext ctx) {
                 String importedClass = importStmt.getTypeName();
-                String importedPackage = importedClass.substring(0, importedClass.lastIndexOf('.'));
-
-                LOG.info("Detected import: {}", importedClass);
-                for (DetachedPlugins plugin : DetachedPlugins.values()) {
-                    if (plugin.getPackageName().contains(importedPackage)
-                            || plugin.getClassNames().contains(importedClass)) {
-                        // Only add if jenkins version past lastCoreRelease
-                        if (new ComparableVersion(jenkinsVersion)
-                                        .compareTo(new ComparableVersion(plugin.getLastCoreRelease()))
-                                > 0) {
-                            LOG.info("Detected usage of detached plugin: {}", plugin.getPluginId());
-                            acc.add(plugin.getPluginId());
-                        }
-                    }
+                LOG.debug("Detected import: {}", importedClass);
+                Map<String, DetachedPlugins> detached = getDetachedImports();
+                DetachedPlugins plugin = detached.get(importedClass);
+                int packageEnd = importedClass.lastIndexOf('.');
+                if (plugin == null && packageEnd > 0) {
+                    plugin = detached.get(importedClass.substring(0, packageEnd));
+                }
+                if (plugin != null && acc.add(plugin.getPluginId())) {
+                    LOG.info("Detected usage of detached plugin: {}", plugin.getPluginId());
                 }
                 return super.visitImport(importStmt, ctx);
             }
         };
     }
 
+    /**
+     * Get the plugins detached before the Jenkins version by package and class name
+     * @return The detached plugins by name
+     */
+    private Map<String, DetachedPlugins> getDetachedImports() {
+        if (detachedImports == null) {
+            ComparableVersion version = new ComparableVersion(jenkinsVersion);
+            Map<String, DetachedPlugins> index = new HashMap<>();
+            DetachedPlugins.byName().forEach((name, plugin) -> {
+                if (plugin.isDetachedIn(version)) {
+                    index.put(name, plugin);
+                }
+            });
+            detachedImports = Map.copyOf(index);
+        }
+        return detachedImports;
+    }
+
     /**
      * Add dependencies to pom.xml if they were detected.
      */
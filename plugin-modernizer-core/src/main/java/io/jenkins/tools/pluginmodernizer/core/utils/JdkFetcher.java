@@ -6,26 +6,47 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.model.JDK;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,15 +57,52 @@ import org.slf4j.LoggerFactory;
 public class JdkFetcher {
     private static final Logger LOG = LoggerFactory.getLogger(JdkFetcher.class);
 
+    /**
+     * Run JDK downloads in background. Downloads are I/O bound, so each one gets its own virtual thread
+     */
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("plugin-modernizer-jdk-", 0).factory());
+
+    /**
+     * Maximum number of times a failed download is resumed
+     */
+    private static final int MAX_RESUMES = 3;
+
+    /**
+     * Wait before resuming a failed download, multiplied by the number of attempts
+     */
+    private static final Duration RESUME_BACKOFF = Duration.ofSeconds(1);
+
+    /**
+     * Size of the buffers between the download and the extraction
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * A JDK archive of a release
+     * @param url The download URL of the archive
+     * @param checksumUrl The download URL of the SHA-256 checksum, null if not published
+     */
+    private record JdkArchive(String url, String checksumUrl) {}
+
+    private final HttpClient httpClient =
+            HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).build();
+
     private final Path cacheDir;
 
+    /**
+     * Provisioned JDK directories by major version
+     */
+    private final SingleFlightCache<Integer, Path> jdkPaths = new SingleFlightCache<>();
+
     public JdkFetcher(Path cacheDir) {
         this.cacheDir = cacheDir;
     }
 
     /**
      * Gets the path to the JDK directory for the specified JDK version. If the JDK is not already downloaded,
-     * it triggers the download and setup process.
+     * it triggers the download and setup process. Concurrent callers wait for the download in progress of the same
+     * version, while other versions are downloaded in parallel.
      *
      * @param jdkVersion The version of the JDK (e.g., 8).
      * @return The path to the JDK directory.
@@ -52,38 +110,117 @@ public class JdkFetcher {
      * @throws InterruptedException If the operation is interrupted.
      */
     public Path getJdkPath(int jdkVersion) throws IOException, InterruptedException {
+        return jdkPaths.get(jdkVersion, this::provisionJdk);
+    }
+
+    /**
+     * Start downloading the given JDKs in background, so plugins don't wait for a download when they first need one.
+     * Failures are only logged, the JDK will be downloaded again when first needed.
+     *
+     * @param jdks The JDKs to provision.
+     */
+    public void prefetch(Collection<JDK> jdks) {
+        for (JDK jdk : jdks) {
+            CompletableFuture.runAsync(
+                    () -> {
+                        try {
+                            LOG.debug("JDK {} available at {}", jdk.getMajor(), jdk.getHome(this));
+                        } catch (IOException | RuntimeException e) {
+                            LOG.warn(
+                                    "Failed to prefetch JDK {}: {}. Will retry when needed",
+                                    jdk.getMajor(),
+                                    e.getMessage());
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    },
+                    PREFETCH_EXECUTOR);
+        }
+    }
+
+    /**
+     * Download the JDK unless already available. An exclusive lock on the JDK directory is held while downloading,
+     * so other runs sharing the same cache wait for it instead of downloading the same JDK.
+     * Incomplete directories left by an interrupted extraction are removed and downloaded again.
+     *
+     * @param jdkVersion The version of the JDK (e.g., 8).
+     * @return The path to the JDK directory.
+     * @throws IOException If an I/O error occurs or if interrupted.
+     */
+    private Path provisionJdk(int jdkVersion) throws IOException {
         Path jdkPath = getJdkDirectoryPath(jdkVersion);
-        if (Files.notExists(jdkPath)) {
-            downloadAndSetupJdk(jdkVersion, jdkPath);
+        if (isProvisioned(jdkPath)) {
+            return jdkPath;
+        }
+        Path jdksDir = cacheDir.resolve(".jdks");
+        Files.createDirectories(jdksDir);
+        Path lockFile = jdksDir.resolve("plugin-modernizer-jdk-" + jdkVersion + ".lock");
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock ignored = channel.lock()) {
+            if (!isProvisioned(jdkPath)) {
+                deleteIncomplete(jdkVersion, jdkPath);
+                downloadAndSetupJdk(jdkVersion, jdkPath);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while downloading JDK " + jdkVersion);
         }
         return jdkPath;
     }
 
     /**
-     * Downloads and extracts the JDK for the specified version. The method determines the appropriate extraction
-     * method based on the operating system.
+     * Downloads and extracts the JDK for the specified version while the bytes arrive. The JDK is extracted to a
+     * temporary directory, verified against the published SHA-256 checksum, then atomically moved in place.
      *
      * @param jdkVersion The version of the JDK (e.g., "8").
-     * @param extractionDir The directory where the JDK will be extracted.
-     * @throws IOException          If an I/O error occurs.
+     * @param jdkPath The directory of the JDK.
+     * @throws IOException          If an I/O error occurs or if the checksum doesn't match.
      * @throws InterruptedException If the operation is interrupted.
      */
-    private void downloadAndSetupJdk(int jdkVersion, Path extractionDir) throws IOException, InterruptedException {
-        LOG.info("Downloading the JDK...");
-        Path downloadedFile = downloadJdk(jdkVersion);
-        LOG.info("Download successful");
+    private void downloadAndSetupJdk(int jdkVersion, Path jdkPath) throws IOException, InterruptedException {
+        JdkArchive archive = fetchLatestRelease(jdkVersion);
+        if (archive == null) {
+            throw new IOException("No JDK %s release found for %s".formatted(jdkVersion, buildJDKFileName(jdkVersion)));
+        }
+        String expectedSha256 = fetchChecksum(archive);
+        if (expectedSha256 == null) {
+            LOG.warn("No checksum published for {}. Skipping verification", archive.url());
+        }
 
-        LOG.info("Extracting...");
-        Files.createDirectories(extractionDir);
-        String os = getOSName();
-        if (os.contains("windows")) {
-            extractZip(downloadedFile, extractionDir);
-        } else if (os.contains("linux") || os.contains("mac")) {
-            extractTarGz(downloadedFile, extractionDir);
-            LOG.info("Setting executable permissions for files in bin directory");
-            setJavaBinariesPermissions(extractionDir);
+        LOG.info("Downloading and extracting JDK {} from {}", jdkVersion, archive.url());
+        long start = System.nanoTime();
+        long size;
+        Path tempDir = Files.createTempDirectory(cacheDir.resolve(".jdks"), getTempDirectoryPrefix(jdkVersion));
+        try {
+            MessageDigest digest = newSha256();
+            ResumableInputStream.Opener opener = offset -> openArchive(archive.url(), offset);
+            try (ResumableInputStream download = new ResumableInputStream(opener, MAX_RESUMES, RESUME_BACKOFF);
+                    InputStream in = new DigestInputStream(new BufferedInputStream(download, BUFFER_SIZE), digest)) {
+                if (archive.url().toLowerCase().endsWith(".zip")) {
+                    extractZip(in, tempDir);
+                } else {
+                    extractTarGz(in, tempDir);
+                    LOG.debug("Setting executable permissions for files in bin directory");
+                    setJavaBinariesPermissions(tempDir);
+                }
+                size = download.getPosition();
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            if (expectedSha256 != null && !expectedSha256.equalsIgnoreCase(sha256)) {
+                throw new IOException("Checksum mismatch for %s: expected %s but was %s"
+                        .formatted(archive.url(), expectedSha256, sha256));
+            }
+            Files.move(tempDir, jdkPath, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            if (Files.exists(tempDir)) {
+                FileUtils.deleteDirectory(tempDir.toFile());
+            }
         }
-        LOG.info("Extraction successful");
+        LOG.info(
+                "JDK {} ready in {} s ({} MB downloaded)",
+                jdkVersion,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start),
+                size / (1024 * 1024));
     }
 
     /**
@@ -97,65 +234,129 @@ public class JdkFetcher {
     }
 
     /**
-     * Downloads the JDK for the specified version from the appropriate URL and saves it to the local directory.
+     * Gets the prefix of the temporary directories receiving the JDK while it's extracted.
      *
      * @param jdkVersion The version of the JDK (e.g., "8").
-     * @return The path to the downloaded JDK file.
-     * @throws IOException          If an I/O error occurs.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return The prefix.
      */
-    @SuppressFBWarnings(value = "URLCONNECTION_SSRF_FD", justification = "false positive")
-    private Path downloadJdk(int jdkVersion) throws IOException, InterruptedException {
-        String downloadUrl = fetchLatestReleaseUrl(jdkVersion);
-        if (downloadUrl != null) {
-            Path downloadPath = cacheDir.resolve(".jdks").resolve("jdk" + jdkVersion + getExtension(downloadUrl));
-            Path parentPath = downloadPath.getParent();
-            if (parentPath != null) {
-                Files.createDirectories(parentPath);
-            }
+    private String getTempDirectoryPrefix(int jdkVersion) {
+        return "plugin-modernizer-jdk-" + jdkVersion + ".part-";
+    }
+
+    /**
+     * Checks if the JDK directory is complete. New JDKs are moved in place once fully extracted, but older versions
+     * of the tool extracted in place and could leave a partial directory behind.
+     *
+     * @param jdkPath The path to the JDK directory.
+     * @return True if the JDK contains its java binary.
+     */
+    private boolean isProvisioned(Path jdkPath) {
+        return Stream.of("bin/java", "bin/java.exe", "Contents/Home/bin/java")
+                .anyMatch(binary -> Files.isRegularFile(jdkPath.resolve(binary)));
+    }
 
-            try (InputStream in = URI.create(downloadUrl).toURL().openStream()) {
-                Files.copy(in, downloadPath, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Deletes a partial JDK directory and the temporary directories left by interrupted downloads.
+     * Must be called while holding the lock of the JDK version.
+     *
+     * @param jdkVersion The version of the JDK (e.g., "8").
+     * @param jdkPath The path to the JDK directory.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void deleteIncomplete(int jdkVersion, Path jdkPath) throws IOException {
+        if (Files.exists(jdkPath)) {
+            LOG.warn("Removing incomplete JDK {} at {}", jdkVersion, jdkPath);
+            FileUtils.deleteDirectory(jdkPath.toFile());
+        }
+        try (DirectoryStream<Path> leftovers =
+                Files.newDirectoryStream(cacheDir.resolve(".jdks"), getTempDirectoryPrefix(jdkVersion) + "*")) {
+            for (Path leftover : leftovers) {
+                LOG.debug("Removing leftover of interrupted JDK {} download at {}", jdkVersion, leftover);
+                FileUtils.deleteDirectory(leftover.toFile());
             }
-            return downloadPath;
         }
-        return null;
     }
 
     /**
-     * Determines the file extension based on the URL.
+     * Opens the JDK archive from the given offset, using an HTTP range request to resume a failed download.
      *
-     * @param url The URL of the JDK download.
-     * @return The file extension (e.g., ".zip" or ".tar.gz").
+     * @param url The URL of the archive.
+     * @param offset The number of bytes already downloaded.
+     * @return The stream of the archive starting at the offset.
+     * @throws IOException If an I/O error occurs or if the server doesn't return the archive.
      */
-    private String getExtension(String url) {
-        return url.toLowerCase().endsWith(".zip") ? ".zip" : ".tar.gz";
+    private InputStream openArchive(String url, long offset) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder().uri(URI.create(url));
+        if (offset > 0) {
+            request.header("Range", "bytes=" + offset + "-");
+        }
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while downloading " + url);
+        }
+        InputStream body = response.body();
+        if (offset > 0 && response.statusCode() == 206) {
+            return body;
+        }
+        if (response.statusCode() == 200) {
+            // Range not honored, skip what was already read
+            body.skipNBytes(offset);
+            return body;
+        }
+        body.close();
+        throw new IOException("Failed to download %s. HTTP Status Code: %s".formatted(url, response.statusCode()));
+    }
+
+    /**
+     * Fetches the SHA-256 checksum published with the JDK archive.
+     *
+     * @param archive The JDK archive.
+     * @return The hexadecimal checksum, or null if not published.
+     * @throws IOException          If an I/O error occurs.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    private String fetchChecksum(JdkArchive archive) throws IOException, InterruptedException {
+        if (archive.checksumUrl() == null) {
+            return null;
+        }
+        HttpRequest request =
+                HttpRequest.newBuilder().uri(URI.create(archive.checksumUrl())).build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            LOG.warn("Failed to fetch checksum {}. HTTP Status Code: {}", archive.checksumUrl(), response.statusCode());
+            return null;
+        }
+        // Format is "<sha256>  <file name>"
+        String checksum = response.body().trim().split("\\s+")[0];
+        return checksum.isEmpty() ? null : checksum;
     }
 
     /**
-     * Fetches the latest release download URL for a specified JDK version and OS.
+     * Fetches the latest release archive for a specified JDK version and OS.
      *
      * @param jdkVersion The version of the JDK (e.g., "8").
-     * @return The download URL of the latest release, or null if not found.
+     * @return The archive of the latest release, or null if not found.
      * @throws IOException          If an I/O error occurs.
      * @throws InterruptedException If the operation is interrupted.
      */
-    private String fetchLatestReleaseUrl(int jdkVersion) throws IOException, InterruptedException {
+    private JdkArchive fetchLatestRelease(int jdkVersion) throws IOException, InterruptedException {
         String latestUrl =
                 String.format("%s/temurin%s-binaries/releases", Settings.ADOPTIUM_GITHUB_API_URL, jdkVersion);
-        HttpClient client = HttpClient.newHttpClient();
         HttpRequest request =
                 HttpRequest.newBuilder().uri(URI.create(latestUrl)).build();
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
         if (response.statusCode() == 200) {
             JsonArray releases = JsonParser.parseString(response.body()).getAsJsonArray();
             for (JsonElement releaseElement : releases) {
                 JsonObject release = releaseElement.getAsJsonObject();
                 JsonArray assets = release.getAsJsonArray("assets");
-                String url = getDownloadUrl(assets, jdkVersion);
-                if (url != null) {
-                    return url;
+                JdkArchive archive = getArchive(assets, jdkVersion);
+                if (archive != null) {
+                    return archive;
                 }
             }
         } else {
@@ -165,26 +366,43 @@ public class JdkFetcher {
     }
 
     /**
-     * Finds the download URL for the JDK based on the JDK version and operating system.
+     * Finds the JDK archive and its checksum based on the JDK version and operating system.
      *
      * @param assets     A JSON array of assets from a GitHub release.
      * @param jdkVersion The version of the JDK (e.g., "8").
-     * @return The download URL if a matching asset is found, otherwise null.
+     * @return The archive if a matching asset is found, otherwise null.
      */
-    private String getDownloadUrl(JsonArray assets, int jdkVersion) {
+    private JdkArchive getArchive(JsonArray assets, int jdkVersion) {
         String jdkFileName = buildJDKFileName(jdkVersion);
+        Map<String, String> urls = new LinkedHashMap<>();
         for (JsonElement element : assets) {
             JsonObject asset = element.getAsJsonObject();
-            String name = asset.get("name").getAsString();
-            if (name.toLowerCase().contains(jdkFileName.toLowerCase())
-                    && (name.toLowerCase().endsWith(".zip")
-                            || name.toLowerCase().endsWith(".tar.gz"))) {
-                return asset.get("browser_download_url").getAsString();
+            urls.put(
+                    asset.get("name").getAsString(),
+                    asset.get("browser_download_url").getAsString());
+        }
+        for (Map.Entry<String, String> asset : urls.entrySet()) {
+            String name = asset.getKey().toLowerCase();
+            if (name.contains(jdkFileName.toLowerCase()) && (name.endsWith(".zip") || name.endsWith(".tar.gz"))) {
+                return new JdkArchive(asset.getValue(), urls.get(asset.getKey() + ".sha256.txt"));
             }
         }
         return null;
     }
 
+    /**
+     * Creates a SHA-256 digest.
+     *
+     * @return The digest.
+     */
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new ModernizerException("Unable to compute JDK checksum", e);
+        }
+    }
+
     /**
      * Constructs the JDK file name based on the version and operating system.
      *
@@ -245,14 +463,15 @@ public class JdkFetcher {
     }
 
     /**
-     * Extracts a ZIP file to the specified directory without nested directories.
+     * Extracts a ZIP stream to the specified directory without nested directories.
+     * The stream is read until its end, so the checksum covers the whole archive.
      *
-     * @param zipFile     The path to the ZIP file.
+     * @param archive       The stream of the ZIP archive.
      * @param extractionDir The directory to extract the files into.
      * @throws IOException If an I/O error occurs.
      */
-    private void extractZip(Path zipFile, Path extractionDir) throws IOException {
-        try (ZipInputStream zipIn = new ZipInputStream(Files.newInputStream(zipFile))) {
+    private void extractZip(InputStream archive, Path extractionDir) throws IOException {
+        try (ZipInputStream zipIn = new ZipInputStream(archive)) {
             ZipEntry entry;
             while ((entry = zipIn.getNextEntry()) != null) {
                 if (!entry.isDirectory()) {
@@ -260,20 +479,21 @@ public class JdkFetcher {
                 }
                 zipIn.closeEntry();
             }
+            // The central directory follows the last entry
+            archive.transferTo(OutputStream.nullOutputStream());
         }
-        Files.delete(zipFile);
     }
 
     /**
-     * Extracts a TAR.GZ file to the specified directory without nested directories.
+     * Extracts a TAR.GZ stream to the specified directory without nested directories.
+     * The stream is read until its end, so the checksum covers the whole archive.
      *
-     * @param tarGzFile   The path to the TAR.GZ file.
+     * @param archive       The stream of the TAR.GZ archive.
      * @param extractionDir The directory to extract the files into.
      * @throws IOException If an I/O error occurs.
      */
-    private void extractTarGz(Path tarGzFile, Path extractionDir) throws IOException {
-        try (InputStream fileStream = Files.newInputStream(tarGzFile);
-                InputStream gzipStream = new GZIPInputStream(fileStream);
+    private void extractTarGz(InputStream archive, Path extractionDir) throws IOException {
+        try (InputStream gzipStream = new GZIPInputStream(archive, BUFFER_SIZE);
                 TarArchiveInputStream tarStream = new TarArchiveInputStream(gzipStream)) {
 
             TarArchiveEntry entry;
@@ -282,8 +502,9 @@ public class JdkFetcher {
                     extractFile(entry.getName(), tarStream, extractionDir);
                 }
             }
+            // Padding can follow the last entry
+            archive.transferTo(OutputStream.nullOutputStream());
         }
-        Files.delete(tarGzFile);
     }
 
     /**
@@ -6,22 +6,28 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
-import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,12 +37,15 @@ public class JsonUtils {
 
     private static final Gson gson;
 
+    private static final Gson prettyGson;
+
     private JsonUtils() {
         // Hide constructor
     }
 
     static {
         gson = new Gson();
+        prettyGson = new GsonBuilder().setPrettyPrinting().create();
     }
 
     /**
@@ -132,16 +141,21 @@ public class JsonUtils {
     }
 
     /**
-     * Convert an object to a JSON file
+     * Convert an object to a JSON file. The object is serialized directly to the file without intermediate copies
      * @param object The object to convert
      * @param path The path to the JSON file
      */
     public static void toJsonFile(Object object, Path path) {
         try {
             LOG.debug("Writing JSON file to {}", path);
-            String prettyJson = JsonUtils.prettyPrint(gson.toJson(object));
-            FileUtils.writeStringToFile(path.toFile(), prettyJson, StandardCharsets.UTF_8);
-        } catch (IOException e) {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                prettyGson.toJson(object, writer);
+            }
+        } catch (IOException | JsonIOException e) {
             throw new ModernizerException("Unable to write JSON file due to IO error", e);
         }
     }
@@ -165,40 +179,109 @@ public class JsonUtils {
      * @return The object
      */
     public static <T> T fromJson(Path path, Class<T> clazz) {
-        try {
-            return gson.fromJson(FileUtils.readFileToString(path.toFile(), StandardCharsets.UTF_8), clazz);
-        } catch (IOException e) {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, clazz);
+        } catch (IOException | JsonIOException e) {
             throw new ModernizerException("Unable to read JSON file due to IO error", e);
         }
     }
 
     /**
-     * Download JSON data from a URL and convert it to an object
+     * Download JSON data from a URL and convert it to an object.
+     * The response body is parsed while it's received, and only the fields declared by the target class are kept
      * @param url The URL to download from
      * @param clazz The class of the object
      * @return The object
      * @param <T> The type of the object
      */
     public static <T> T fromUrl(URL url, Class<T> clazz) {
+        return fetch(url, clazz, null).value();
+    }
+
+    /**
+     * Download JSON data from a URL unless it was not modified since the given cache entry was downloaded.
+     * The ETag and Last-Modified validators of the response are kept on the returned entry
+     * @param url The URL to download from
+     * @param clazz The class of the object
+     * @param cached The previously downloaded entry or null
+     * @return The downloaded object or the cached entry if the remote data was not modified
+     * @param <T> The type of the object
+     */
+    public static <T extends CacheEntry<T>> T fromUrl(URL url, Class<T> clazz, T cached) {
+        Fetched<T> fetched = fetch(url, clazz, cached);
+        if (fetched.notModified()) {
+            return cached;
+        }
+        T result = fetched.value();
+        if (result != null) {
+            result.setValidators(
+                    fetched.headers().firstValue("ETag").orElse(null),
+                    fetched.headers().firstValue("Last-Modified").orElse(null));
+        }
+        return result;
+    }
+
+    /**
+     * Result of a download
+     * @param value The downloaded object or null if not modified
+     * @param notModified True if the remote data was not modified since the cached entry was downloaded
+     * @param headers The response headers
+     * @param <T> The type of the object
+     */
+    private record Fetched<T>(T value, boolean notModified, HttpHeaders headers) {}
+
+    /**
+     * Download JSON data from a URL and convert it to an object while the response body is received.
+     * The request is conditional if the given cache entry has validators
+     * @param url The URL to download from
+     * @param clazz The class of the object
+     * @param cached The previously downloaded entry or null
+     * @return The result of the download
+     * @param <T> The type of the object
+     */
+    private static <T> Fetched<T> fetch(URL url, Class<T> clazz, CacheEntry<?> cached) {
         try {
-            HttpClient client = HttpClient.newBuilder()
-                    .followRedirects(HttpClient.Redirect.NORMAL)
-                    .build();
-            HttpRequest request =
-                    HttpRequest.newBuilder().GET().uri(url.toURI()).build();
-            LOG.debug("Fetching data from: {}", url);
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() != 200) {
-                throw new ModernizerException(
-                        "Failed to get JSON data. Received response code: " + response.statusCode());
+            HttpResponse<InputStream> response = send(url, cached);
+            try (Reader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                if (cached != null && response.statusCode() == 304) {
+                    LOG.debug("Data from {} was not modified", url);
+                    return new Fetched<>(null, true, response.headers());
+                }
+                if (response.statusCode() != 200) {
+                    throw new ModernizerException(
+                            "Failed to get JSON data. Received response code: " + response.statusCode());
+                }
+                T result = gson.fromJson(reader, clazz);
+                LOG.debug("Fetched data from: {}", url);
+                return new Fetched<>(result, false, response.headers());
             }
-            LOG.debug("Fetched data from: {}", url);
-            return JsonUtils.fromJson(response.body(), clazz);
-        } catch (IOException | JsonSyntaxException | URISyntaxException | InterruptedException e) {
+        } catch (IOException | JsonIOException | JsonSyntaxException | URISyntaxException | InterruptedException e) {
             throw new ModernizerException("Unable to fetch data from " + url, e);
         }
     }
 
+    /**
+     * Send a GET request, conditional if the given cache entry has validators
+     * @param url The URL
+     * @param cached The previously downloaded entry or null
+     * @return The response with its body as stream
+     */
+    private static HttpResponse<InputStream> send(URL url, CacheEntry<?> cached)
+            throws IOException, URISyntaxException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        HttpRequest.Builder request = HttpRequest.newBuilder().GET().uri(url.toURI());
+        if (cached != null && cached.getETag() != null) {
+            request.header("If-None-Match", cached.getETag());
+        }
+        if (cached != null && cached.getLastModified() != null) {
+            request.header("If-Modified-Since", cached.getLastModified());
+        }
+        LOG.debug("Fetching data from: {}", url);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
     /**
      * Merge two JSON arrays
      * @param array1 The first JSON array
@@ -258,10 +341,4 @@ public class JsonUtils {
         array2.forEach(set2::add);
         return set1.equals(set2);
     }
-
-    private static String prettyPrint(String uglyJson) {
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        JsonElement jsonElement = JsonParser.parseString(uglyJson);
-        return gson.toJson(jsonElement);
-    }
 }
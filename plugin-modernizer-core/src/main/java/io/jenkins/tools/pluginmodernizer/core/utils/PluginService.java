@@ -4,6 +4,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
 import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
+import io.jenkins.tools.pluginmodernizer.core.model.CacheEntry;
 import io.jenkins.tools.pluginmodernizer.core.model.HealthScoreData;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.OptOutPluginsData;
@@ -13,6 +14,19 @@ import io.jenkins.tools.pluginmodernizer.core.model.PluginVersionData;
 import io.jenkins.tools.pluginmodernizer.core.model.UpdateCenterData;
 import jakarta.inject.Inject;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +43,16 @@ public class PluginService {
     @Inject
     private CacheManager cacheManager;
 
+    /**
+     * Datasets parsed once and shared by all lookups until they expire
+     */
+    private final Map<String, LoadedDataset> datasets = new ConcurrentHashMap<>();
+
+    /**
+     * Lock per dataset to avoid concurrent download or parsing of the same dataset
+     */
+    private final Map<String, Object> datasetLocks = new ConcurrentHashMap<>();
+
     /**
      * Extract the repository name for a plugin
      * @param plugin Plugin
@@ -38,8 +62,7 @@ public class PluginService {
     public String extractRepoName(Plugin plugin) {
 
         if (plugin.isLocal() && plugin.getLocalRepository() != null) {
-            StaticPomParser parser = new StaticPomParser(
-                    plugin.getLocalRepository().resolve("pom.xml").toString());
+            StaticPomParser parser = plugin.getPom();
             String githubRepo = parser.getGithubRepoProperty();
             // Use SCM connection property and fallback to folder which might not be accurate
             if (githubRepo == null || githubRepo.isEmpty()) {
@@ -162,21 +185,69 @@ public class PluginService {
         return updateCenterPlugin.version();
     }
 
+    /**
+     * Load all remote datasets concurrently instead of one after another on first use.
+     * Failures are only logged, the dataset will be fetched again when first needed.
+     */
+    public void prefetch() {
+        Map<String, Supplier<?>> loaders = new LinkedHashMap<>();
+        loaders.put(CacheManager.UPDATE_CENTER_CACHE_KEY, this::getUpdateCenterData);
+        loaders.put(CacheManager.PLUGIN_VERSIONS_CACHE_KEY, this::getPluginVersionData);
+        loaders.put(CacheManager.HEALTH_SCORE_KEY, this::getHealthScoreData);
+        loaders.put(CacheManager.INSTALLATION_STATS_KEY, this::getPluginInstallationStatsData);
+        loaders.put(CacheManager.OPT_OUT_PLUGINS_CACHE_KEY, this::getOptOutPluginsData);
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(loaders.size(), runnable -> {
+            Thread thread = new Thread(runnable, "plugin-modernizer-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Map<String, CompletableFuture<Long>> futures = new LinkedHashMap<>();
+            loaders.forEach((key, loader) -> futures.put(
+                    key,
+                    CompletableFuture.supplyAsync(
+                                    () -> {
+                                        long datasetStart = System.nanoTime();
+                                        loader.get();
+                                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - datasetStart);
+                                    },
+                                    executor)
+                            .orTimeout(Settings.DATASET_PREFETCH_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)));
+            int failures = 0;
+            for (Map.Entry<String, CompletableFuture<Long>> entry : futures.entrySet()) {
+                try {
+                    LOG.info("Loaded {} in {} ms", entry.getKey(), entry.getValue().join());
+                } catch (CompletionException | CancellationException e) {
+                    failures++;
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        LOG.warn(
+                                "Timeout after {} while loading {}. Will retry when needed",
+                                Settings.DATASET_PREFETCH_TIMEOUT,
+                                entry.getKey());
+                    } else {
+                        LOG.warn("Failed to load {}: {}. Will retry when needed", entry.getKey(), cause.getMessage());
+                    }
+                }
+            }
+            LOG.info(
+                    "Loaded {}/{} remote datasets in {} ms",
+                    loaders.size() - failures,
+                    loaders.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Retrieve update center data from the given URL or from cache if it exists
      * @return Update center data
      */
     public UpdateCenterData getUpdateCenterData() {
-        UpdateCenterData updateCenterData =
-                cacheManager.get(cacheManager.root(), CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.class);
-        // Download and update cache
-        if (updateCenterData == null) {
-            updateCenterData = downloadUpdateCenterData();
-            updateCenterData.setKey(CacheManager.UPDATE_CENTER_CACHE_KEY);
-            updateCenterData.setPath(cacheManager.root());
-            cacheManager.put(updateCenterData);
-        }
-        return updateCenterData;
+        return getDataset(CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.class, this::downloadUpdateCenterData);
     }
 
     /**
@@ -184,16 +255,7 @@ public class PluginService {
      * @return Health score data
      */
     public HealthScoreData getHealthScoreData() {
-        HealthScoreData healthScoreData =
-                cacheManager.get(cacheManager.root(), CacheManager.HEALTH_SCORE_KEY, HealthScoreData.class);
-        // Download and update cache
-        if (healthScoreData == null) {
-            healthScoreData = downloadHealthScoreData();
-            healthScoreData.setKey(CacheManager.HEALTH_SCORE_KEY);
-            healthScoreData.setPath(cacheManager.root());
-            cacheManager.put(healthScoreData);
-        }
-        return healthScoreData;
+        return getDataset(CacheManager.HEALTH_SCORE_KEY, HealthScoreData.class, this::downloadHealthScoreData);
     }
 
     /**
@@ -201,24 +263,93 @@ public class PluginService {
      * @return Opt out plugins data
      */
     public OptOutPluginsData getOptOutPluginsData() {
-        OptOutPluginsData optOutPluginsData =
-                cacheManager.get(cacheManager.root(), CacheManager.OPT_OUT_PLUGINS_CACHE_KEY, OptOutPluginsData.class);
-        // Download and update cache
-        if (optOutPluginsData == null) {
-            optOutPluginsData = downloadOptOutPluginsData();
-            optOutPluginsData.setKey(CacheManager.OPT_OUT_PLUGINS_CACHE_KEY);
-            optOutPluginsData.setPath(cacheManager.root());
-            cacheManager.put(optOutPluginsData);
+        return getDataset(
+                CacheManager.OPT_OUT_PLUGINS_CACHE_KEY, OptOutPluginsData.class, this::downloadOptOutPluginsData);
+    }
+
+    /**
+     * Retrieve plugin version data from the given URL or from cache if it exists
+     * @return Plugin version data
+     */
+    public PluginVersionData getPluginVersionData() {
+        return getDataset(
+                CacheManager.PLUGIN_VERSIONS_CACHE_KEY,
+                PluginVersionData.class,
+                cached -> downloadPluginVersionData(config, cached));
+    }
+
+    /**
+     * Retrieve plugin installation stats data from the given URL or from cache if it exists
+     * @return Plugin installation stats data
+     */
+    public PluginInstallationStatsData getPluginInstallationStatsData() {
+        return getDataset(
+                CacheManager.INSTALLATION_STATS_KEY,
+                PluginInstallationStatsData.class,
+                cached -> downloadInstallationStatsData());
+    }
+
+    /**
+     * Return a dataset from memory, or load it once from the cache (or remote service) and keep it in memory
+     * until the cache entry expires. The returned dataset is shared by all lookups and must not be modified.
+     * @param key The cache key
+     * @param clazz The dataset class
+     * @param downloader Function to download the dataset if not found on cache. It receives the expired entry if
+     *                   any, and return it unchanged if the remote data was not modified
+     * @return The dataset
+     */
+    private <T extends CacheEntry<T>> T getDataset(String key, Class<T> clazz, UnaryOperator<T> downloader) {
+        LoadedDataset loaded = datasets.get(key);
+        if (loaded != null && !cacheManager.isExpired(loaded.expiration())) {
+            return clazz.cast(loaded.data());
+        }
+        synchronized (datasetLocks.computeIfAbsent(key, k -> new Object())) {
+            loaded = datasets.get(key);
+            if (loaded != null && !cacheManager.isExpired(loaded.expiration())) {
+                return clazz.cast(loaded.data());
+            }
+            T data = cacheManager.get(cacheManager.root(), key, clazz);
+            // Download or revalidate and update cache
+            if (data == null) {
+                T expired = cacheManager.peek(cacheManager.root(), key, clazz);
+                data = downloader.apply(expired);
+                if (expired != null && data == expired) {
+                    LOG.debug("Remote data for {} was not modified", key);
+                    cacheManager.touch(data);
+                } else {
+                    data.setKey(key);
+                    data.setPath(cacheManager.root());
+                    cacheManager.put(data);
+                }
+            }
+            LOG.debug("Loaded {} in memory", key);
+            datasets.put(key, new LoadedDataset(data, cacheManager.getExpiration(data)));
+            return data;
         }
-        return optOutPluginsData;
     }
 
+    /**
+     * A dataset loaded in memory
+     * @param data The dataset
+     * @param expiration When the dataset must be reloaded
+     */
+    private record LoadedDataset(CacheEntry<?> data, Instant expiration) {}
+
     /**
      * Download refreshed update center data from the remote service
      * @return Update center data
      */
     public UpdateCenterData downloadUpdateCenterData() {
-        return JsonUtils.fromUrl(config.getJenkinsUpdateCenter(), UpdateCenterData.class);
+        return downloadUpdateCenterData(null);
+    }
+
+    /**
+     * Download refreshed update center data from the remote service unless not modified
+     * @param cached Previously downloaded data or null
+     * @return Update center data
+     */
+    public UpdateCenterData downloadUpdateCenterData(UpdateCenterData cached) {
+        return JsonUtils.fromUrl(config.getJenkinsUpdateCenter(), UpdateCenterData.class, cached);
     }
 
     /**
@@ -226,7 +357,16 @@ public class PluginService {
      * @return Health score data
      */
     public HealthScoreData downloadHealthScoreData() {
-        return JsonUtils.fromUrl(config.getPluginHealthScore(), HealthScoreData.class);
+        return downloadHealthScoreData(null);
+    }
+
+    /**
+     * Download refreshed health score data from the remote service unless not modified
+     * @param cached Previously downloaded data or null
+     * @return Health score data
+     */
+    public HealthScoreData downloadHealthScoreData(HealthScoreData cached) {
+        return JsonUtils.fromUrl(config.getPluginHealthScore(), HealthScoreData.class, cached);
     }
 
     /**
@@ -234,7 +374,16 @@ public class PluginService {
      * @return Opt out plugins data
      */
     public OptOutPluginsData downloadOptOutPluginsData() {
-        return JsonUtils.fromUrl(config.getOptOutPlugins(), OptOutPluginsData.class);
+        return downloadOptOutPluginsData(null);
+    }
+
+    /**
+     * Download refreshed opt out plugins data from the metadata repository unless not modified
+     * @param cached Previously downloaded data or null
+     * @return Opt out plugins data
+     */
+    public OptOutPluginsData downloadOptOutPluginsData(OptOutPluginsData cached) {
+        return JsonUtils.fromUrl(config.getOptOutPlugins(), OptOutPluginsData.class, cached);
     }
 
     /**
@@ -306,45 +455,21 @@ public class PluginService {
     }
 
     /**
-     * Retrieve plugin version data from the given URL or from cache if it exists
-     * @return Plugin version data
-     */
-    public PluginVersionData getPluginVersionData() {
-        PluginVersionData pluginVersionData =
-                cacheManager.get(cacheManager.root(), CacheManager.PLUGIN_VERSIONS_CACHE_KEY, PluginVersionData.class);
-        // Download and update cache
-        if (pluginVersionData == null) {
-            pluginVersionData = downloadPluginVersionData(config);
-            pluginVersionData.setKey(CacheManager.PLUGIN_VERSIONS_CACHE_KEY);
-            pluginVersionData.setPath(cacheManager.root());
-            cacheManager.put(pluginVersionData);
-        }
-        return pluginVersionData;
-    }
-
-    /**
-     * Retrieve plugin installation stats data from the given URL or from cache if it exists
-     * @return Plugin installation stats data
+     * Download refreshed update center data from the remote service
+     * @param config Configuration
+     * @return Update center data
      */
-    public PluginInstallationStatsData getPluginInstallationStatsData() {
-        PluginInstallationStatsData pluginInstallationStatsData = cacheManager.get(
-                cacheManager.root(), CacheManager.INSTALLATION_STATS_KEY, PluginInstallationStatsData.class);
-        // Download and update cache
-        if (pluginInstallationStatsData == null) {
-            pluginInstallationStatsData = downloadInstallationStatsData();
-            pluginInstallationStatsData.setKey(CacheManager.INSTALLATION_STATS_KEY);
-            pluginInstallationStatsData.setPath(cacheManager.root());
-            cacheManager.put(pluginInstallationStatsData);
-        }
-        return pluginInstallationStatsData;
+    public PluginVersionData downloadPluginVersionData(Config config) {
+        return downloadPluginVersionData(config, null);
     }
 
     /**
-     * Download refreshed update center data from the remote service
+     * Download refreshed plugin versions data from the remote service unless not modified
      * @param config Configuration
-     * @return Update center data
+     * @param cached Previously downloaded data or null
+     * @return Plugin versions data
      */
-    public PluginVersionData downloadPluginVersionData(Config config) {
-        return JsonUtils.fromUrl(config.getJenkinsPluginVersions(), PluginVersionData.class);
+    public PluginVersionData downloadPluginVersionData(Config config, PluginVersionData cached) {
+        return JsonUtils.fromUrl(config.getJenkinsPluginVersions(), PluginVersionData.class, cached);
     }
 }
@@ -0,0 +1,147 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Input stream of a remote resource that reopens the resource from the last byte read when the connection fails,
+ * for example using an HTTP range request. Readers see a single uninterrupted stream.
+ */
+final class ResumableInputStream extends InputStream {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResumableInputStream.class);
+
+    /**
+     * Open the resource from an offset
+     */
+    @FunctionalInterface
+    interface Opener {
+        /**
+         * Open the resource
+         * @param offset The number of bytes already read
+         * @return The stream starting at the offset
+         * @throws IOException If the resource can't be opened
+         */
+        InputStream open(long offset) throws IOException;
+    }
+
+    private final Opener opener;
+
+    /**
+     * Maximum number of times the resource is reopened
+     */
+    private final int maxResumes;
+
+    /**
+     * Wait before reopening, multiplied by the number of attempts
+     */
+    private final Duration backoff;
+
+    /**
+     * Stream of the current connection, null until opened or after a failure
+     */
+    private InputStream delegate;
+
+    /**
+     * Number of bytes read so far
+     */
+    private long position;
+
+    /**
+     * Number of times the resource was reopened
+     */
+    private int resumes;
+
+    /**
+     * Create a stream. The resource is opened on first read
+     * @param opener Open the resource from an offset
+     * @param maxResumes Maximum number of times the resource is reopened after a failure
+     * @param backoff Wait before reopening, multiplied by the number of attempts
+     */
+    ResumableInputStream(Opener opener, int maxResumes, Duration backoff) {
+        this.opener = opener;
+        this.maxResumes = maxResumes;
+        this.backoff = backoff;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int read = read(single, 0, 1);
+        return read < 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        while (true) {
+            try {
+                if (delegate == null) {
+                    delegate = opener.open(position);
+                }
+                int read = delegate.read(buffer, offset, length);
+                if (read > 0) {
+                    position += read;
+                }
+                return read;
+            } catch (IOException e) {
+                if (resumes >= maxResumes || Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                resumes++;
+                LOG.warn(
+                        "Download failed after {} bytes: {}. Resuming ({}/{})",
+                        position,
+                        e.getMessage(),
+                        resumes,
+                        maxResumes);
+                closeDelegate();
+                backoff();
+            }
+        }
+    }
+
+    /**
+     * Get the number of bytes read so far
+     * @return The number of bytes
+     */
+    long getPosition() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate != null) {
+            delegate.close();
+            delegate = null;
+        }
+    }
+
+    /**
+     * Close the failed connection, ignoring errors
+     */
+    private void closeDelegate() {
+        try {
+            close();
+        } catch (IOException e) {
+            LOG.debug("Failed to close connection: {}", e.getMessage());
+        }
+        delegate = null;
+    }
+
+    /**
+     * Wait a bit longer after each failure before reopening the resource
+     * @throws InterruptedIOException If interrupted while waiting
+     */
+    private void backoff() throws InterruptedIOException {
+        try {
+            Thread.sleep(backoff.multipliedBy(resumes));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while resuming download");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Memoize values loaded by key. Concurrent lookups of the same key wait for a single load.
+ * Null values are cached, failed loads are not so the next lookup tries again.
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public class SingleFlightCache<K, V> {
+
+    /**
+     * Load a value
+     * @param <K> The type of the key
+     * @param <V> The type of the value
+     */
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        V load(K key) throws IOException;
+    }
+
+    /**
+     * Loaded or loading values
+     */
+    private final ConcurrentMap<K, CompletableFuture<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Get the value of the key, loading it if not already loaded or being loaded
+     * @param key The key
+     * @param loader The loader used if the value is not cached
+     * @return The value
+     * @throws IOException If the load failed
+     */
+    public V get(K key, Loader<K, V> loader) throws IOException {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = entries.putIfAbsent(key, created);
+        if (existing == null) {
+            try {
+                created.complete(loader.load(key));
+            } catch (IOException | RuntimeException | Error e) {
+                entries.remove(key, created);
+                created.completeExceptionally(e);
+            }
+            existing = created;
+        }
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Forget the value of a key
+     * @param key The key
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Forget all values
+     */
+    public void clear() {
+        entries.clear();
+    }
+}
@@ -2,25 +2,47 @@ package io.jenkins.tools.pluginmodernizer.core.utils;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
-import java.io.File;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathFactory;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  * Utility class for parsing a pom.xml
+ * The file is streamed once and the values of the leaf elements are kept as an immutable snapshot.
+ * Elements are matched by local name so poms with or without the Maven namespace are handled the same way.
  */
 public class StaticPomParser {
 
-    private static final Logger LOG = LoggerFactory.getLogger(StaticPomParser.class);
-    private final Document document;
+    /**
+     * Path of the repository URLs
+     */
+    private static final String REPOSITORY_URL_PATH = "/project/repositories/repository/url";
+
+    /**
+     * The shared factory. Thread safe once configured
+     */
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    /**
+     * First value of each leaf element keyed by its path (e.g. /project/properties/jenkins.version)
+     */
+    private final Map<String, String> values;
+
+    /**
+     * URLs of all repositories
+     */
+    private final List<String> repositoryUrls;
 
     /**
      * Constructor for StaticPomParser.
@@ -29,29 +51,58 @@ public class StaticPomParser {
      */
     @SuppressFBWarnings("PATH_TRAVERSAL_IN")
     public StaticPomParser(String pomFilePath) {
-        try {
-            // Validate the file path
-            Path path = Paths.get(pomFilePath).normalize().toAbsolutePath();
-            if (!Files.exists(path) || !Files.isRegularFile(path)) {
-                throw new ModernizerException("Invalid file path: " + path);
+        // Validate the file path
+        Path path = Paths.get(pomFilePath).normalize().toAbsolutePath();
+        if (!Files.exists(path) || !Files.isRegularFile(path)) {
+            throw new ModernizerException("Invalid file path: " + path);
+        }
+        Map<String, String> values = new HashMap<>();
+        List<String> repositoryUrls = new ArrayList<>();
+        try (InputStream is = Files.newInputStream(path)) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(is);
+            try {
+                StringBuilder elementPath = new StringBuilder();
+                Deque<Integer> parentLengths = new ArrayDeque<>();
+                StringBuilder text = new StringBuilder();
+                boolean leaf = false;
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT -> {
+                            parentLengths.push(elementPath.length());
+                            elementPath.append('/').append(reader.getLocalName());
+                            text.setLength(0);
+                            leaf = true;
+                        }
+                        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+                            if (leaf) {
+                                text.append(reader.getText());
+                            }
+                        }
+                        case XMLStreamConstants.END_ELEMENT -> {
+                            if (leaf) {
+                                String key = elementPath.toString();
+                                String value = text.toString().trim();
+                                values.putIfAbsent(key, value);
+                                if (REPOSITORY_URL_PATH.equals(key)) {
+                                    repositoryUrls.add(value);
+                                }
+                            }
+                            elementPath.setLength(parentLengths.pop());
+                            leaf = false;
+                        }
+                        default -> {
+                            // Comments, processing instructions, etc.
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
             }
-
-            File pomFile = path.toFile();
-            DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-            dbFactory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            dbFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            dbFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            dbFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            dbFactory.setXIncludeAware(false);
-            dbFactory.setExpandEntityReferences(false);
-            // Ignore whitespace
-            dbFactory.setIgnoringElementContentWhitespace(true);
-            DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-            document = dBuilder.parse(pomFile);
-            document.getDocumentElement().normalize();
         } catch (Exception e) {
             throw new ModernizerException("Error parsing POM file: " + e.getMessage(), e);
         }
+        this.values = Collections.unmodifiableMap(values);
+        this.repositoryUrls = Collections.unmodifiableList(repositoryUrls);
     }
 
     /**
@@ -59,13 +110,7 @@ public class StaticPomParser {
      * @return the packaging type or null if not found
      */
     public String getPackaging() {
-        XPath xPath = XPathFactory.newInstance().newXPath();
-        try {
-            return xPath.compile("/project/packaging").evaluate(document);
-        } catch (Exception e) {
-            LOG.warn("Error getting packaging: {}", e.getMessage());
-            return null;
-        }
+        return values.get("/project/packaging");
     }
 
     /**
@@ -73,13 +118,7 @@ public class StaticPomParser {
      * @return the Jenkins version or null if not found
      */
     public String getJenkinsVersion() {
-        XPath xPath = XPathFactory.newInstance().newXPath();
-        try {
-            return xPath.compile("/project/properties/jenkins.version").evaluate(document);
-        } catch (Exception e) {
-            LOG.warn("Error getting jenkins.version: {}", e.getMessage());
-            return null;
-        }
+        return getProperty("jenkins.version");
     }
 
     /**
@@ -87,13 +126,7 @@ public class StaticPomParser {
      * @return the Jenkins baseline or null if not found
      */
     public String getBaseline() {
-        XPath xPath = XPathFactory.newInstance().newXPath();
-        try {
-            return xPath.compile("/project/properties/jenkins.baseline").evaluate(document);
-        } catch (Exception e) {
-            LOG.warn("Error getting baseline: {}", e.getMessage());
-            return null;
-        }
+        return getProperty("jenkins.baseline");
     }
 
     /**
@@ -101,13 +134,7 @@ public class StaticPomParser {
      * @return the gitHubRepo property or null if not found
      */
     public String getGithubRepoProperty() {
-        XPath xPath = XPathFactory.newInstance().newXPath();
-        try {
-            return xPath.compile("/project/properties/gitHubRepo").evaluate(document);
-        } catch (Exception e) {
-            LOG.warn("Error getting github.repo: {}", e.getMessage());
-            return null;
-        }
+        return getProperty("gitHubRepo");
     }
 
     /**
@@ -115,13 +142,7 @@ public class StaticPomParser {
      * @return the scm connection property or null if not found
      */
     public String getScmConnectionProperty() {
-        XPath xPath = XPathFactory.newInstance().newXPath();
-        try {
-            return xPath.compile("/project/properties/scm/connection").evaluate(document);
-        } catch (Exception e) {
-            LOG.warn("Error getting scm connection: {}", e.getMessage());
-            return null;
-        }
+        return values.get("/project/properties/scm/connection");
     }
 
     /**
@@ -129,12 +150,67 @@ public class StaticPomParser {
      * @return the groupId or null if not found
      */
     public String getArtifactId() {
-        XPath xPath = XPathFactory.newInstance().newXPath();
-        try {
-            return xPath.compile("/project/artifactId").evaluate(document);
-        } catch (Exception e) {
-            LOG.warn("Error getting artifactId: {}", e.getMessage());
-            return null;
-        }
+        return values.get("/project/artifactId");
+    }
+
+    /**
+     * Return a property of the POM file.
+     * @param name the name of the property
+     * @return the property value or null if not found
+     */
+    public String getProperty(String name) {
+        return values.get("/project/properties/" + name);
+    }
+
+    /**
+     * Return the groupId of the parent.
+     * @return the parent groupId or null if not found
+     */
+    public String getParentGroupId() {
+        return values.get("/project/parent/groupId");
+    }
+
+    /**
+     * Return the artifactId of the parent.
+     * @return the parent artifactId or null if not found
+     */
+    public String getParentArtifactId() {
+        return values.get("/project/parent/artifactId");
+    }
+
+    /**
+     * Return the version of the parent.
+     * @return the parent version or null if not found
+     */
+    public String getParentVersion() {
+        return values.get("/project/parent/version");
+    }
+
+    /**
+     * Return the SCM connection of the POM file.
+     * @return the SCM connection or null if not found
+     */
+    public String getScmConnection() {
+        return values.get("/project/scm/connection");
+    }
+
+    /**
+     * Return the URLs of the repositories of the POM file.
+     * @return the repository URLs. Empty if no repository is defined
+     */
+    public List<String> getRepositoryUrls() {
+        return repositoryUrls;
+    }
+
+    /**
+     * Create the XML input factory without DTD and external entities support
+     * @return the XML input factory
+     */
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        return factory;
     }
 }
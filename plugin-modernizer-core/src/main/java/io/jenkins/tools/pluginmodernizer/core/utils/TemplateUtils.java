@@ -9,6 +9,7 @@ import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,6 +20,38 @@ public class TemplateUtils {
 
     private static final Logger LOG = LoggerFactory.getLogger(TemplateUtils.class);
 
+    /**
+     * Engine shared by all renderings. Precompiled template classes are resolved once
+     */
+    private static final TemplateEngine TEMPLATE_ENGINE = TemplateEngine.createPrecompiled(ContentType.Html);
+
+    /**
+     * Templates of each recipe by recipe name. Resolved for all available recipes at startup
+     */
+    private static final Map<String, RecipeTemplates> RECIPE_TEMPLATES = new ConcurrentHashMap<>();
+
+    static {
+        Settings.AVAILABLE_RECIPES.forEach(TemplateUtils::getRecipeTemplates);
+    }
+
+    /**
+     * Templates used for a recipe
+     * @param commit The commit message template
+     * @param title The pull request title template
+     * @param body The pull request body template
+     */
+    private record RecipeTemplates(String commit, String title, String body) {}
+
+    /**
+     * Branch name, commit message, pull request title and body rendered for a plugin
+     * @param branchName The branch name
+     * @param commitMessage The commit message
+     * @param pullRequestTitle The pull request title
+     * @param pullRequestBody The pull request body
+     */
+    public record RenderedTemplates(
+            String branchName, String commitMessage, String pullRequestTitle, String pullRequestBody) {}
+
     /**
      * Hidden constructor
      */
@@ -29,6 +62,43 @@ public class TemplateUtils {
         return "%s-%s.jte".formatted(prefix, shortName);
     }
 
+    /**
+     * Get the templates of a recipe, falling back to the default templates when the recipe has none.
+     * The commit message falls back to the title template of the recipe if it exists
+     *
+     * @param recipe The recipe
+     * @return The templates
+     */
+    private static RecipeTemplates getRecipeTemplates(Recipe recipe) {
+        return RECIPE_TEMPLATES.computeIfAbsent(recipe.getName(), name -> {
+            String title = getTemplateNameForRecipe("pr-title", recipe);
+            String commit = getTemplateNameForRecipe("commit", recipe);
+            String body = getTemplateNameForRecipe("pr-body", recipe);
+            boolean hasTitle = TEMPLATE_ENGINE.hasTemplate(title);
+            return new RecipeTemplates(
+                    TEMPLATE_ENGINE.hasTemplate(commit) ? commit : hasTitle ? title : "commit.jte",
+                    hasTitle ? title : "pr-title.jte",
+                    TEMPLATE_ENGINE.hasTemplate(body) ? body : "pr-body.jte");
+        });
+    }
+
+    /**
+     * Render the branch name, commit message, pull request title and body at once
+     *
+     * @param plugin Plugin to modernize
+     * @param recipe Recipe to apply
+     * @return The rendered templates
+     */
+    public static RenderedTemplates renderAll(Plugin plugin, Recipe recipe) {
+        RecipeTemplates templates = getRecipeTemplates(recipe);
+        Map<String, Object> params = Map.of("plugin", plugin, "recipe", recipe);
+        return new RenderedTemplates(
+                renderTemplate("branch.jte", params),
+                renderTemplate(templates.commit(), params),
+                renderTemplate(templates.title(), params),
+                renderTemplate(templates.body(), params));
+    }
+
     /**
      * Render the pull request body
      *
@@ -37,11 +107,7 @@ public class TemplateUtils {
      * @return The rendered pull request body
      */
     public static String renderPullRequestBody(Plugin plugin, Recipe recipe) {
-        if (hasBodyTemplate(recipe)) {
-            return renderTemplate(
-                    getTemplateNameForRecipe("pr-body", recipe), Map.of("plugin", plugin, "recipe", recipe));
-        }
-        return renderTemplate("pr-body.jte", Map.of("plugin", plugin, "recipe", recipe));
+        return renderTemplate(getRecipeTemplates(recipe).body(), Map.of("plugin", plugin, "recipe", recipe));
     }
 
     /**
@@ -52,15 +118,7 @@ public class TemplateUtils {
      * @return The rendered commit message
      */
     public static String renderCommitMessage(Plugin plugin, Recipe recipe) {
-        if (hasCommitTemplate(recipe)) {
-            return renderTemplate(
-                    getTemplateNameForRecipe("commit", recipe), Map.of("plugin", plugin, "recipe", recipe));
-        }
-        // Fallback to title if exists
-        if (hasTitleTemplate(recipe)) {
-            return renderPullRequestTitle(plugin, recipe);
-        }
-        return renderTemplate("commit.jte", Map.of("plugin", plugin, "recipe", recipe));
+        return renderTemplate(getRecipeTemplates(recipe).commit(), Map.of("plugin", plugin, "recipe", recipe));
     }
 
     /**
@@ -82,11 +140,7 @@ public class TemplateUtils {
      * @return The rendered pull request title
      */
     public static String renderPullRequestTitle(Plugin plugin, Recipe recipe) {
-        if (hasTitleTemplate(recipe)) {
-            return renderTemplate(
-                    getTemplateNameForRecipe("pr-title", recipe), Map.of("plugin", plugin, "recipe", recipe));
-        }
-        return renderTemplate("pr-title.jte", Map.of("plugin", plugin, "recipe", recipe));
+        return renderTemplate(getRecipeTemplates(recipe).title(), Map.of("plugin", plugin, "recipe", recipe));
     }
 
     /**
@@ -98,48 +152,12 @@ public class TemplateUtils {
      */
     private static String renderTemplate(String templateName, Map<String, Object> params) {
         try {
-            TemplateEngine templateEngine = TemplateEngine.createPrecompiled(ContentType.Html);
             TemplateOutput output = new StringOutput();
-            templateEngine.render(templateName, params, output);
+            TEMPLATE_ENGINE.render(templateName, params, output);
             return output.toString().trim();
         } catch (Exception e) {
             LOG.error("Error rendering template {}", templateName, e);
             throw new ModernizerException("Error rendering template " + templateName, e);
         }
     }
-
-    /**
-     * Check if a title template exists for one recipe
-     *
-     * @param recipe The recipe to check
-     * @return True if a title template exists
-     */
-    private static boolean hasTitleTemplate(Recipe recipe) {
-        String shortName = recipe.getName().replaceAll(Settings.RECIPE_FQDN_PREFIX + ".", "");
-        TemplateEngine templateEngine = TemplateEngine.createPrecompiled(ContentType.Html);
-        return templateEngine.hasTemplate("pr-title-%s.jte".formatted(shortName));
-    }
-
-    /**
-     * Check if a commit template exists for one recipe
-     *
-     * @param recipe The recipe to check
-     * @return True if a commit template exists
-     */
-    private static boolean hasCommitTemplate(Recipe recipe) {
-        String shortName = recipe.getName().replaceAll(Settings.RECIPE_FQDN_PREFIX + ".", "");
-        TemplateEngine templateEngine = TemplateEngine.createPrecompiled(ContentType.Html);
-        return templateEngine.hasTemplate("commit-%s.jte".formatted(shortName));
-    }
-
-    /**
-     * Check if a body template exists for one recipe
-     *
-     * @param recipe The recipe to check
-     * @return True if a body template exists
-     */
-    private static boolean hasBodyTemplate(Recipe recipe) {
-        TemplateEngine templateEngine = TemplateEngine.createPrecompiled(ContentType.Html);
-        return templateEngine.hasTemplate(getTemplateNameForRecipe("pr-body", recipe));
-    }
 }
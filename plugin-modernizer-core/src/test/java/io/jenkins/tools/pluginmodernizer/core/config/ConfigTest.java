@@ -8,7 +8,9 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
@@ -112,4 +114,65 @@ public class ConfigTest {
 
         assertTrue(config.isDryRun());
     }
+
+    @Test
+    public void testConfigBuilderParallelism() {
+        assertEquals(1, Config.builder().build().getParallelism());
+        assertEquals(4, Config.builder().withParallelism(4).build().getParallelism());
+        assertEquals(1, Config.builder().withParallelism(0).build().getParallelism());
+    }
+
+    @Test
+    public void testConfigBuilderCloneDepth() {
+        assertEquals(0, Config.builder().build().getCloneDepth());
+        assertEquals(1, Config.builder().withCloneDepth(1).build().getCloneDepth());
+        assertEquals(0, Config.builder().withCloneDepth(-1).build().getCloneDepth());
+    }
+
+    @Test
+    public void testConfigBuilderReportPath() {
+        assertNull(Config.builder().build().getReportPath());
+        Path reportPath = Path.of("reports");
+        assertEquals(
+                reportPath.toAbsolutePath(),
+                Config.builder().withReportPath(reportPath).build().getReportPath());
+    }
+
+    @Test
+    public void testConfigBuilderForkReadinessTimeout() {
+        assertEquals(Settings.FORK_READINESS_TIMEOUT, Config.builder().build().getForkReadinessTimeout());
+        assertEquals(
+                Duration.ofSeconds(30),
+                Config.builder()
+                        .withForkReadinessTimeout(Duration.ofSeconds(30))
+                        .build()
+                        .getForkReadinessTimeout());
+        assertEquals(
+                Settings.FORK_READINESS_TIMEOUT,
+                Config.builder()
+                        .withForkReadinessTimeout(Duration.ofSeconds(-1))
+                        .build()
+                        .getForkReadinessTimeout());
+    }
+
+    @Test
+    public void testConfigBuilderCacheMaxAges() {
+        assertEquals(Map.of(), Config.builder().build().getCacheMaxAges());
+        assertEquals(
+                Map.of("plugin-versions.json", Duration.ofHours(6)),
+                Config.builder()
+                        .withCacheMaxAges(Map.of("plugin-versions.json", Duration.ofHours(6)))
+                        .build()
+                        .getCacheMaxAges());
+        assertEquals(Map.of(), Config.builder().withCacheMaxAges(null).build().getCacheMaxAges());
+    }
+
+    @Test
+    public void testConfigBuilderMavenDaemonHome() {
+        assertNull(Config.builder().build().getMavenDaemonHome());
+        Path mvndHome = Path.of("mvnd");
+        assertEquals(
+                mvndHome.toAbsolutePath(),
+                Config.builder().withMavenDaemonHome(mvndHome).build().getMavenDaemonHome());
+    }
 }
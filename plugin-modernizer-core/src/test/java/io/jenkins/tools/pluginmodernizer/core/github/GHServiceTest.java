@@ -4,10 +4,12 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalMatchers.not;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -31,12 +33,19 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import org.eclipse.jgit.api.CloneCommand;
+import org.eclipse.jgit.api.CheckoutCommand;
+import org.eclipse.jgit.api.FetchCommand;
 import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.api.InitCommand;
+import org.eclipse.jgit.api.RemoteAddCommand;
+import org.eclipse.jgit.lib.ObjectDatabase;
+import org.eclipse.jgit.lib.Repository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -44,16 +53,19 @@ import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junit.platform.commons.util.ReflectionUtils;
-import org.kohsuke.github.GHCommitPointer;
+import org.kohsuke.github.GHBranch;
+import org.kohsuke.github.GHFileNotFoundException;
 import org.kohsuke.github.GHIssueState;
 import org.kohsuke.github.GHMyself;
 import org.kohsuke.github.GHOrganization;
 import org.kohsuke.github.GHPullRequest;
 import org.kohsuke.github.GHPullRequestQueryBuilder;
+import org.kohsuke.github.GHRef;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GHRepositoryForkBuilder;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.PagedIterable;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -411,6 +423,82 @@ public class GHServiceTest {
         verify(repository, times(1)).createFork();
     }
 
+    @Test
+    public void shouldWaitForForkToBeReady() throws Exception {
+
+        GHRepository repository = Mockito.mock(GHRepository.class);
+        GHRepository fork = Mockito.mock(GHRepository.class);
+        GHMyself myself = Mockito.mock(GHMyself.class);
+        GHRepositoryForkBuilder builder = Mockito.mock(GHRepositoryForkBuilder.class);
+
+        // Mock
+        doReturn("fake-owner").when(config).getGithubOwner();
+        doReturn(null).when(config).getGithubAppId();
+        doReturn(Duration.ofSeconds(10)).when(config).getForkReadinessTimeout();
+        doReturn("fake-repo").when(repository).getName();
+        doReturn("main").when(repository).getDefaultBranch();
+        doReturn(Mockito.mock(URL.class)).when(fork).getHtmlUrl();
+        doReturn(repository).when(plugin).getRemoteRepository(eq(service));
+        doReturn(myself).when(github).getMyself();
+        doReturn(builder).when(repository).createFork();
+        doReturn(fork).when(builder).create();
+
+        // Not yet forked
+        doReturn(null).when(myself).getRepository(eq("fake-repo"));
+
+        // Default branch of the fork only exists on the second check
+        doThrow(new GHFileNotFoundException())
+                .doReturn(Mockito.mock(GHRef.class))
+                .when(fork)
+                .getRef(eq("heads/main"));
+
+        // Directory doesn't exists
+        doReturn(Path.of("not-existing-dir")).when(plugin).getLocalRepository();
+
+        // Test
+        service.fork(plugin, RepoType.PLUGIN);
+
+        // Verify
+        verify(fork, times(2)).getRef(eq("heads/main"));
+    }
+
+    @Test
+    public void shouldDeleteUnusedBackgroundFork() throws Exception {
+
+        GHRepository repository = Mockito.mock(GHRepository.class);
+        GHRepository fork = Mockito.mock(GHRepository.class);
+        GHMyself myself = Mockito.mock(GHMyself.class);
+        GHRepositoryForkBuilder builder = Mockito.mock(GHRepositoryForkBuilder.class);
+
+        // Mock
+        doReturn("fake-owner").when(config).getGithubOwner();
+        doReturn("fake-repo").when(repository).getName();
+        doReturn("main").when(repository).getDefaultBranch();
+        doReturn(Mockito.mock(URL.class)).when(fork).getHtmlUrl();
+        doReturn(repository).when(plugin).getRemoteRepository(eq(service));
+        doReturn("fake-repo").when(plugin).getRepositoryName();
+        doReturn(myself).when(github).getMyself();
+        doReturn(builder).when(repository).createFork();
+        doReturn(fork).when(builder).create();
+        doReturn(Mockito.mock(GHRef.class)).when(fork).getRef(eq("heads/main"));
+
+        // Not yet forked
+        doReturn(null).when(myself).getRepository(eq("fake-repo"));
+
+        // Plugin with local changes
+        Git.init().setDirectory(pluginDir.toFile()).call().close();
+        Files.writeString(pluginDir.resolve("pom.xml"), "<project/>");
+        doReturn(pluginDir).when(plugin).getLocalRepository();
+
+        // Test, plugin stopped before pushing
+        service.forkInBackground(plugin);
+        service.discardBackgroundFork(plugin);
+
+        // Verify
+        verify(builder, times(1)).create();
+        verify(fork, times(1)).delete();
+    }
+
     @Test
     public void shouldForkMetadataRepoToMyself() throws Exception {
 
@@ -762,9 +850,8 @@ public class GHServiceTest {
         GHRepository fork = Mockito.mock(GHRepository.class);
         GHMyself myself = Mockito.mock(GHMyself.class);
         GHPullRequest pr = Mockito.mock(GHPullRequest.class);
-        GHCommitPointer head = Mockito.mock(GHCommitPointer.class);
         GHPullRequestQueryBuilder prQuery = Mockito.mock(GHPullRequestQueryBuilder.class);
-        PagedIterable<?> prQueryList = Mockito.mock(PagedIterable.class);
+        Recipe recipe = Mockito.mock(Recipe.class);
 
         doReturn("fake-owner/fake-repo").when(fork).getFullName();
         doReturn("fake-repo").when(plugin).getRepositoryName();
@@ -772,14 +859,16 @@ public class GHServiceTest {
         doReturn(fork).when(myself).getRepository(eq("fake-repo"));
         doReturn(repository).when(plugin).getRemoteRepository(eq(service));
         doReturn(fork).when(plugin).getRemoteForkRepository(eq(service));
+        doReturn(recipe).when(config).getRecipe();
+        doReturn("recipe1").when(recipe).getName();
 
-        // Return at least one PR open
-        doReturn(head).when(pr).getHead();
-        doReturn(fork).when(head).getRepository();
+        // Return at least one PR open from the branch of the recipe
+        doReturn(Map.of(TemplateUtils.renderBranchName(plugin, recipe), Mockito.mock(GHBranch.class)))
+                .when(fork)
+                .getBranches();
         doReturn(prQuery).when(repository).queryPullRequests();
         doReturn(prQuery).when(prQuery).state(eq(GHIssueState.OPEN));
-        doReturn(prQueryList).when(prQuery).list();
-        doReturn(List.of(pr)).when(prQueryList).toList();
+        mockOpenPullRequests(prQuery, "fake-owner:" + TemplateUtils.renderBranchName(plugin, recipe), List.of(pr));
 
         // Test
         service.deleteFork(plugin);
@@ -787,7 +876,7 @@ public class GHServiceTest {
     }
 
     @Test
-    public void shouldNotDeleteRepoIfNotAFork() throws Exception {
+    public void shouldNotDeleteForkWithOpenPullRequestFromAnotherRecipe() throws Exception {
 
         // Mock
         doReturn("fake-owner").when(config).getGithubOwner();
@@ -796,28 +885,94 @@ public class GHServiceTest {
         GHRepository fork = Mockito.mock(GHRepository.class);
         GHMyself myself = Mockito.mock(GHMyself.class);
         GHPullRequest pr = Mockito.mock(GHPullRequest.class);
-        GHCommitPointer head = Mockito.mock(GHCommitPointer.class);
         GHPullRequestQueryBuilder prQuery = Mockito.mock(GHPullRequestQueryBuilder.class);
-        PagedIterable<?> prQueryList = Mockito.mock(PagedIterable.class);
+        Recipe recipe = Mockito.mock(Recipe.class);
+
+        doReturn("fake-owner/fake-repo").when(fork).getFullName();
+        doReturn("fake-repo").when(plugin).getRepositoryName();
+        doReturn(myself).when(github).getMyself();
+        doReturn(fork).when(myself).getRepository(eq("fake-repo"));
+        doReturn(repository).when(plugin).getRemoteRepository(eq(service));
+        doReturn(fork).when(plugin).getRemoteForkRepository(eq(service));
+        doReturn(recipe).when(config).getRecipe();
+        doReturn("recipe1").when(recipe).getName();
+
+        // The fork only has the branch of another recipe with an open PR
+        doReturn(Map.of("plugin-modernizer/recipe2", Mockito.mock(GHBranch.class)))
+                .when(fork)
+                .getBranches();
+        doReturn(prQuery).when(repository).queryPullRequests();
+        doReturn(prQuery).when(prQuery).state(eq(GHIssueState.OPEN));
+        mockOpenPullRequests(prQuery, "fake-owner:plugin-modernizer/recipe2", List.of(pr));
+
+        // Test
+        service.deleteFork(plugin);
+        verify(fork, never()).delete();
+    }
+
+    @Test
+    public void shouldReuseOpenPullRequestsOfHead() throws Exception {
+
+        // Mock
+        doReturn("fake-owner").when(config).getGithubOwner();
+        doReturn(null).when(config).getGithubAppId();
+        GHRepository repository = Mockito.mock(GHRepository.class);
+        GHRepository fork = Mockito.mock(GHRepository.class);
+        GHMyself myself = Mockito.mock(GHMyself.class);
+        GHPullRequest pr = Mockito.mock(GHPullRequest.class);
+        GHPullRequestQueryBuilder prQuery = Mockito.mock(GHPullRequestQueryBuilder.class);
+        Recipe recipe = Mockito.mock(Recipe.class);
+
+        doReturn("fake-owner/fake-repo").when(fork).getFullName();
+        doReturn("jenkinsci/fake-repo").when(repository).getFullName();
+        doReturn("fake-repo").when(plugin).getRepositoryName();
+        doReturn(myself).when(github).getMyself();
+        doReturn(fork).when(myself).getRepository(eq("fake-repo"));
+        doReturn(repository).when(plugin).getRemoteRepository(eq(service));
+        doReturn(fork).when(plugin).getRemoteForkRepository(eq(service));
+        doReturn(recipe).when(config).getRecipe();
+        doReturn("recipe1").when(recipe).getName();
+        doReturn(Map.of(TemplateUtils.renderBranchName(plugin, recipe), Mockito.mock(GHBranch.class)))
+                .when(fork)
+                .getBranches();
+        doReturn(prQuery).when(repository).queryPullRequests();
+        doReturn(prQuery).when(prQuery).state(eq(GHIssueState.OPEN));
+        mockOpenPullRequests(prQuery, "fake-owner:" + TemplateUtils.renderBranchName(plugin, recipe), List.of(pr));
+
+        // Test
+        service.deleteFork(plugin);
+        service.deleteFork(plugin);
+        verify(fork, never()).delete();
+        verify(repository, times(1)).queryPullRequests();
+    }
+
+    @Test
+    public void shouldNotDeleteRepoIfNotAFork() throws Exception {
+
+        // Mock
+        doReturn("fake-owner").when(config).getGithubOwner();
+        doReturn(null).when(config).getGithubAppId();
+        GHRepository repository = Mockito.mock(GHRepository.class);
+        GHRepository fork = Mockito.mock(GHRepository.class);
+        GHMyself myself = Mockito.mock(GHMyself.class);
+        GHPullRequestQueryBuilder prQuery = Mockito.mock(GHPullRequestQueryBuilder.class);
+        Recipe recipe = Mockito.mock(Recipe.class);
 
         doReturn(false).when(fork).isFork();
         doReturn(fork).when(github).getRepository(eq("fake-owner/fake-repo"));
-        doReturn("fake-owner/fake-repo").when(fork).getFullName();
         doReturn("fake-repo").when(plugin).getRepositoryName();
         doReturn(myself).when(github).getMyself();
         doReturn(fork).when(myself).getRepository(eq("fake-repo"));
         doReturn(repository).when(plugin).getRemoteRepository(eq(service));
         doReturn(fork).when(plugin).getRemoteForkRepository(eq(service));
+        doReturn(recipe).when(config).getRecipe();
+        doReturn("recipe1").when(recipe).getName();
 
-        // One PR open but not from the fork
-        doReturn(head).when(pr).getHead();
-        GHRepository otherFork = Mockito.mock(GHRepository.class);
-        doReturn("an/other").when(otherFork).getFullName();
-        doReturn(otherFork).when(head).getRepository();
+        // No PR open from the branches of the fork
+        doReturn(Map.of("fake-branch", Mockito.mock(GHBranch.class))).when(fork).getBranches();
         doReturn(prQuery).when(repository).queryPullRequests();
         doReturn(prQuery).when(prQuery).state(eq(GHIssueState.OPEN));
-        doReturn(prQueryList).when(prQuery).list();
-        doReturn(List.of(pr)).when(prQueryList).toList();
+        mockOpenPullRequests(prQuery, "fake-owner:fake-branch", List.of());
 
         // Test
         service.deleteFork(plugin);
@@ -833,29 +988,24 @@ public class GHServiceTest {
         GHRepository repository = Mockito.mock(GHRepository.class);
         GHRepository fork = Mockito.mock(GHRepository.class);
         GHMyself myself = Mockito.mock(GHMyself.class);
-        GHPullRequest pr = Mockito.mock(GHPullRequest.class);
-        GHCommitPointer head = Mockito.mock(GHCommitPointer.class);
         GHPullRequestQueryBuilder prQuery = Mockito.mock(GHPullRequestQueryBuilder.class);
-        PagedIterable<?> prQueryList = Mockito.mock(PagedIterable.class);
+        Recipe recipe = Mockito.mock(Recipe.class);
 
         doReturn(true).when(fork).isFork();
         doReturn(fork).when(github).getRepository(eq("fake-owner/fake-repo"));
-        doReturn("fake-owner/fake-repo").when(fork).getFullName();
         doReturn("fake-repo").when(plugin).getRepositoryName();
         doReturn(myself).when(github).getMyself();
         doReturn(fork).when(myself).getRepository(eq("fake-repo"));
         doReturn(repository).when(plugin).getRemoteRepository(eq(service));
         doReturn(fork).when(plugin).getRemoteForkRepository(eq(service));
+        doReturn(recipe).when(config).getRecipe();
+        doReturn("recipe1").when(recipe).getName();
 
-        // One PR open but not from the fork
-        doReturn(head).when(pr).getHead();
-        GHRepository otherFork = Mockito.mock(GHRepository.class);
-        doReturn("an/other").when(otherFork).getFullName();
-        doReturn(otherFork).when(head).getRepository();
+        // No PR open from the branches of the fork
+        doReturn(Map.of("fake-branch", Mockito.mock(GHBranch.class))).when(fork).getBranches();
         doReturn(prQuery).when(repository).queryPullRequests();
         doReturn(prQuery).when(prQuery).state(eq(GHIssueState.OPEN));
-        doReturn(prQueryList).when(prQuery).list();
-        doReturn(List.of(pr)).when(prQueryList).toList();
+        mockOpenPullRequests(prQuery, "fake-owner:fake-branch", List.of());
 
         // Owner of the fork is jenkinsci
         doReturn(Settings.ORGANIZATION).when(fork).getOwnerName();
@@ -874,30 +1024,25 @@ public class GHServiceTest {
         GHRepository repository = Mockito.mock(GHRepository.class);
         GHRepository fork = Mockito.mock(GHRepository.class);
         GHMyself myself = Mockito.mock(GHMyself.class);
-        GHPullRequest pr = Mockito.mock(GHPullRequest.class);
-        GHCommitPointer head = Mockito.mock(GHCommitPointer.class);
         GHPullRequestQueryBuilder prQuery = Mockito.mock(GHPullRequestQueryBuilder.class);
-        PagedIterable<?> prQueryList = Mockito.mock(PagedIterable.class);
+        Recipe recipe = Mockito.mock(Recipe.class);
 
         doReturn(true).when(fork).isFork();
         doReturn(fork).when(github).getRepository(eq("fake-owner/fake-repo"));
         doReturn("fake-owner").when(fork).getOwnerName();
-        doReturn("fake-owner/fake-repo").when(fork).getFullName();
         doReturn("fake-repo").when(plugin).getRepositoryName();
         doReturn(myself).when(github).getMyself();
         doReturn(fork).when(myself).getRepository(eq("fake-repo"));
         doReturn(repository).when(plugin).getRemoteRepository(eq(service));
         doReturn(fork).when(plugin).getRemoteForkRepository(eq(service));
+        doReturn(recipe).when(config).getRecipe();
+        doReturn("recipe1").when(recipe).getName();
 
-        // One PR open but not from the fork
-        doReturn(head).when(pr).getHead();
-        GHRepository otherFork = Mockito.mock(GHRepository.class);
-        doReturn("an/other").when(otherFork).getFullName();
-        doReturn(otherFork).when(head).getRepository();
+        // No PR open from the branches of the fork
+        doReturn(Map.of("fake-branch", Mockito.mock(GHBranch.class))).when(fork).getBranches();
         doReturn(prQuery).when(repository).queryPullRequests();
         doReturn(prQuery).when(prQuery).state(eq(GHIssueState.OPEN));
-        doReturn(prQueryList).when(prQuery).list();
-        doReturn(List.of(pr)).when(prQueryList).toList();
+        mockOpenPullRequests(prQuery, "fake-owner:fake-branch", List.of());
 
         // Test
         service.deleteFork(plugin);
@@ -911,8 +1056,6 @@ public class GHServiceTest {
 
         // Mock
         GHRepository repository = Mockito.mock(GHRepository.class);
-        Git git = Mockito.mock(Git.class);
-        CloneCommand cloneCommand = Mockito.mock(CloneCommand.class);
 
         // Use SSH key auth
         Field field = ReflectionUtils.findFields(
@@ -924,22 +1067,21 @@ public class GHServiceTest {
         field.set(service, true);
 
         doReturn(repository).when(plugin).getRemoteRepository(eq(service));
-        doReturn(git).when(cloneCommand).call();
+        doReturn("jenkinsci/fake-repo").when(repository).getFullName();
+        doReturn("main").when(repository).getDefaultBranch();
         doReturn("fake-url").when(repository).getSshUrl();
-        doReturn(cloneCommand).when(cloneCommand).setRemote(eq("origin"));
-        doReturn(cloneCommand).when(cloneCommand).setURI(eq("ssh:///fake-url"));
-        doReturn(cloneCommand).when(cloneCommand).setCredentialsProvider(any(CredentialsProvider.class));
-        doReturn(cloneCommand).when(cloneCommand).setDirectory(any(File.class));
 
         // Directory doesn't exists
         doReturn(Path.of("not-existing-dir")).when(plugin).getLocalRepository();
 
         // Test
         try (MockedStatic<Git> mockStaticGit = mockStatic(Git.class)) {
-            mockStaticGit.when(Git::cloneRepository).thenReturn(cloneCommand);
+            FetchCommand fetchCommand = mockCloneThroughObjectStore(mockStaticGit);
             service.fetch(plugin, RepoType.PLUGIN);
-            verify(cloneCommand, times(1)).call();
-            verifyNoMoreInteractions(cloneCommand);
+            verify(fetchCommand).setRemote(eq("ssh:///fake-url"));
+            verify(fetchCommand, times(1)).call();
+            assertTrue(Files.readString(pluginDir.resolve("clone/.git/objects/info/alternates"))
+                    .contains(Settings.GIT_OBJECT_STORE));
         }
     }
 
@@ -948,8 +1090,6 @@ public class GHServiceTest {
 
         // Mock
         GHRepository repository = Mockito.mock(GHRepository.class);
-        Git git = Mockito.mock(Git.class);
-        CloneCommand cloneCommand = Mockito.mock(CloneCommand.class);
 
         // Use SSH key auth
         Field field = ReflectionUtils.findFields(
@@ -961,22 +1101,21 @@ public class GHServiceTest {
         field.set(service, true);
 
         doReturn(repository).when(plugin).getRemoteMetadataRepository(eq(service));
-        doReturn(git).when(cloneCommand).call();
+        doReturn("jenkinsci/fake-repo").when(repository).getFullName();
+        doReturn("main").when(repository).getDefaultBranch();
         doReturn("fake-url").when(repository).getSshUrl();
-        doReturn(cloneCommand).when(cloneCommand).setRemote(eq("origin"));
-        doReturn(cloneCommand).when(cloneCommand).setURI(eq("ssh:///fake-url"));
-        doReturn(cloneCommand).when(cloneCommand).setCredentialsProvider(any(CredentialsProvider.class));
-        doReturn(cloneCommand).when(cloneCommand).setDirectory(any(File.class));
 
         // Directory doesn't exists
         doReturn(Path.of("not-existing-dir")).when(plugin).getLocalMetadataRepository();
 
         // Test
         try (MockedStatic<Git> mockStaticGit = mockStatic(Git.class)) {
-            mockStaticGit.when(Git::cloneRepository).thenReturn(cloneCommand);
+            FetchCommand fetchCommand = mockCloneThroughObjectStore(mockStaticGit);
             service.fetch(plugin, RepoType.METADATA);
-            verify(cloneCommand, times(1)).call();
-            verifyNoMoreInteractions(cloneCommand);
+            verify(fetchCommand).setRemote(eq("ssh:///fake-url"));
+            verify(fetchCommand, times(1)).call();
+            assertTrue(Files.readString(pluginDir.resolve("clone/.git/objects/info/alternates"))
+                    .contains(Settings.GIT_OBJECT_STORE));
         }
     }
 
@@ -985,26 +1124,46 @@ public class GHServiceTest {
 
         // Mock
         GHRepository repository = Mockito.mock(GHRepository.class);
-        Git git = Mockito.mock(Git.class);
-        CloneCommand cloneCommand = Mockito.mock(CloneCommand.class);
 
         doReturn(repository).when(plugin).getRemoteRepository(eq(service));
-        doReturn(git).when(cloneCommand).call();
+        doReturn("jenkinsci/fake-repo").when(repository).getFullName();
+        doReturn("main").when(repository).getDefaultBranch();
         doReturn("fake-url").when(repository).getHttpTransportUrl();
-        doReturn(cloneCommand).when(cloneCommand).setRemote(eq("origin"));
-        doReturn(cloneCommand).when(cloneCommand).setURI(eq("fake-url"));
-        doReturn(cloneCommand).when(cloneCommand).setCredentialsProvider(any(CredentialsProvider.class));
-        doReturn(cloneCommand).when(cloneCommand).setDirectory(any(File.class));
 
         // Directory doesn't exists
         doReturn(Path.of("not-existing-dir")).when(plugin).getLocalRepository();
 
         // Test
         try (MockedStatic<Git> mockStaticGit = mockStatic(Git.class)) {
-            mockStaticGit.when(Git::cloneRepository).thenReturn(cloneCommand);
+            FetchCommand fetchCommand = mockCloneThroughObjectStore(mockStaticGit);
             service.fetch(plugin, RepoType.PLUGIN);
-            verify(cloneCommand, times(1)).call();
-            verifyNoMoreInteractions(cloneCommand);
+            verify(fetchCommand).setRemote(eq("fake-url"));
+            verify(fetchCommand, times(1)).call();
+            assertTrue(Files.readString(pluginDir.resolve("clone/.git/objects/info/alternates"))
+                    .contains(Settings.GIT_OBJECT_STORE));
+        }
+    }
+
+    @Test
+    public void shouldShallowFetchOriginalRepoToNewFolder() throws Exception {
+
+        // Mock
+        GHRepository repository = Mockito.mock(GHRepository.class);
+        doReturn(repository).when(plugin).getRemoteRepository(eq(service));
+        doReturn("jenkinsci/fake-repo").when(repository).getFullName();
+        doReturn("main").when(repository).getDefaultBranch();
+        doReturn("fake-url").when(repository).getHttpTransportUrl();
+        doReturn(1).when(config).getCloneDepth();
+
+        // Directory doesn't exists
+        doReturn(Path.of("not-existing-dir")).when(plugin).getLocalRepository();
+
+        // Test
+        try (MockedStatic<Git> mockStaticGit = mockStatic(Git.class)) {
+            FetchCommand fetchCommand = mockCloneThroughObjectStore(mockStaticGit);
+            service.fetch(plugin, RepoType.PLUGIN);
+            verify(fetchCommand).setDepth(eq(1));
+            verify(fetchCommand, times(1)).call();
         }
     }
 
@@ -1013,26 +1172,23 @@ public class GHServiceTest {
 
         // Mock
         GHRepository repository = Mockito.mock(GHRepository.class);
-        Git git = Mockito.mock(Git.class);
-        CloneCommand cloneCommand = Mockito.mock(CloneCommand.class);
 
         doReturn(repository).when(plugin).getRemoteMetadataRepository(eq(service));
-        doReturn(git).when(cloneCommand).call();
+        doReturn("jenkinsci/fake-repo").when(repository).getFullName();
+        doReturn("main").when(repository).getDefaultBranch();
         doReturn("fake-url").when(repository).getHttpTransportUrl();
-        doReturn(cloneCommand).when(cloneCommand).setRemote(eq("origin"));
-        doReturn(cloneCommand).when(cloneCommand).setURI(eq("fake-url"));
-        doReturn(cloneCommand).when(cloneCommand).setCredentialsProvider(any(CredentialsProvider.class));
-        doReturn(cloneCommand).when(cloneCommand).setDirectory(any(File.class));
 
         // Directory doesn't exists
         doReturn(Path.of("not-existing-dir")).when(plugin).getLocalMetadataRepository();
 
         // Test
         try (MockedStatic<Git> mockStaticGit = mockStatic(Git.class)) {
-            mockStaticGit.when(Git::cloneRepository).thenReturn(cloneCommand);
+            FetchCommand fetchCommand = mockCloneThroughObjectStore(mockStaticGit);
             service.fetch(plugin, RepoType.METADATA);
-            verify(cloneCommand, times(1)).call();
-            verifyNoMoreInteractions(cloneCommand);
+            verify(fetchCommand).setRemote(eq("fake-url"));
+            verify(fetchCommand, times(1)).call();
+            assertTrue(Files.readString(pluginDir.resolve("clone/.git/objects/info/alternates"))
+                    .contains(Settings.GIT_OBJECT_STORE));
         }
     }
 
@@ -1041,8 +1197,6 @@ public class GHServiceTest {
 
         // Mock
         GHRepository repository = Mockito.mock(GHRepository.class);
-        Git git = Mockito.mock(Git.class);
-        CloneCommand cloneCommand = Mockito.mock(CloneCommand.class);
 
         // Use SSH key auth
         Field field = ReflectionUtils.findFields(
@@ -1055,22 +1209,21 @@ public class GHServiceTest {
 
         //        doReturn("fake-repo").when(plugin).getRepositoryName();
         doReturn(repository).when(plugin).getRemoteRepository(eq(service));
-        doReturn(git).when(cloneCommand).call();
+        doReturn("jenkinsci/fake-repo").when(repository).getFullName();
+        doReturn("main").when(repository).getDefaultBranch();
         doReturn("fake-url").when(repository).getSshUrl();
-        doReturn(cloneCommand).when(cloneCommand).setRemote(eq("origin"));
-        doReturn(cloneCommand).when(cloneCommand).setURI(eq("ssh:///fake-url"));
-        doReturn(cloneCommand).when(cloneCommand).setDirectory(any(File.class));
-        doReturn(cloneCommand).when(cloneCommand).setCredentialsProvider(any(CredentialsProvider.class));
 
         // Directory doesn't exists
         doReturn(Path.of("not-existing-dir")).when(plugin).getLocalRepository();
 
         // Test
         try (MockedStatic<Git> mockStaticGit = mockStatic(Git.class)) {
-            mockStaticGit.when(Git::cloneRepository).thenReturn(cloneCommand);
+            FetchCommand fetchCommand = mockCloneThroughObjectStore(mockStaticGit);
             service.fetch(plugin, RepoType.PLUGIN);
-            verify(cloneCommand, times(1)).call();
-            verifyNoMoreInteractions(cloneCommand);
+            verify(fetchCommand).setRemote(eq("ssh:///fake-url"));
+            verify(fetchCommand, times(1)).call();
+            assertTrue(Files.readString(pluginDir.resolve("clone/.git/objects/info/alternates"))
+                    .contains(Settings.GIT_OBJECT_STORE));
         }
     }
 
@@ -1079,27 +1232,24 @@ public class GHServiceTest {
 
         // Mock
         GHRepository repository = Mockito.mock(GHRepository.class);
-        Git git = Mockito.mock(Git.class);
-        CloneCommand cloneCommand = Mockito.mock(CloneCommand.class);
 
         //        doReturn("fake-repo").when(plugin).getRepositoryName();
         doReturn(repository).when(plugin).getRemoteRepository(eq(service));
-        doReturn(git).when(cloneCommand).call();
+        doReturn("jenkinsci/fake-repo").when(repository).getFullName();
+        doReturn("main").when(repository).getDefaultBranch();
         doReturn("fake-url").when(repository).getHttpTransportUrl();
-        doReturn(cloneCommand).when(cloneCommand).setRemote(eq("origin"));
-        doReturn(cloneCommand).when(cloneCommand).setURI(eq("fake-url"));
-        doReturn(cloneCommand).when(cloneCommand).setDirectory(any(File.class));
-        doReturn(cloneCommand).when(cloneCommand).setCredentialsProvider(any(CredentialsProvider.class));
 
         // Directory doesn't exists
         doReturn(Path.of("not-existing-dir")).when(plugin).getLocalRepository();
 
         // Test
         try (MockedStatic<Git> mockStaticGit = mockStatic(Git.class)) {
-            mockStaticGit.when(Git::cloneRepository).thenReturn(cloneCommand);
+            FetchCommand fetchCommand = mockCloneThroughObjectStore(mockStaticGit);
             service.fetch(plugin, RepoType.PLUGIN);
-            verify(cloneCommand, times(1)).call();
-            verifyNoMoreInteractions(cloneCommand);
+            verify(fetchCommand).setRemote(eq("fake-url"));
+            verify(fetchCommand, times(1)).call();
+            assertTrue(Files.readString(pluginDir.resolve("clone/.git/objects/info/alternates"))
+                    .contains(Settings.GIT_OBJECT_STORE));
         }
     }
 
@@ -1112,7 +1262,6 @@ public class GHServiceTest {
         GHPullRequest pr = Mockito.mock(GHPullRequest.class);
         GHPullRequestQueryBuilder prQuery = Mockito.mock(GHPullRequestQueryBuilder.class);
         GHPullRequest toDeletePr = Mockito.mock(GHPullRequest.class);
-        PagedIterable<?> prQueryList = Mockito.mock(PagedIterable.class);
 
         doReturn(recipe).when(config).getRecipe();
         doReturn("recipe1").when(recipe).getName();
@@ -1124,17 +1273,12 @@ public class GHServiceTest {
         doReturn(Set.of("dependencies", "skip-build", "foo, bar", "developer"))
                 .when(plugin)
                 .getTags();
-        GHCommitPointer toDeleteHead = Mockito.mock(GHCommitPointer.class);
-
-        // PR to delete
-        doReturn("plugin-modernizer-tool").when(toDeleteHead).getRef();
-        doReturn(toDeleteHead).when(toDeletePr).getHead();
 
-        // Return just one PR to deleete
+        // Return no PR for the branch and just one legacy PR to delete
         doReturn(prQuery).when(repository).queryPullRequests();
         doReturn(prQuery).when(prQuery).state(eq(GHIssueState.OPEN));
-        doReturn(prQueryList).when(prQuery).list();
-        doReturn(List.of(toDeletePr)).when(prQueryList).toList();
+        mockOpenPullRequests(prQuery, "test:" + TemplateUtils.renderBranchName(plugin, recipe), List.of());
+        mockOpenPullRequests(prQuery, "test:plugin-modernizer-tool", List.of(toDeletePr));
 
         doReturn(pr)
                 .when(repository)
@@ -1159,7 +1303,6 @@ public class GHServiceTest {
         GHRepository repository = Mockito.mock(GHRepository.class);
         GHPullRequest pr = Mockito.mock(GHPullRequest.class);
         GHPullRequestQueryBuilder prQuery = Mockito.mock(GHPullRequestQueryBuilder.class);
-        PagedIterable<?> prQueryList = Mockito.mock(PagedIterable.class);
 
         doReturn("test").when(config).getGithubOwner();
         doReturn("example").when(plugin).getName();
@@ -1168,10 +1311,10 @@ public class GHServiceTest {
         doReturn(true).when(plugin).hasMetadataChangesPushed();
         doReturn(repository).when(plugin).getRemoteMetadataRepository(eq(service));
 
-        // Return just one PR to deleete
+        // Return no open PR for the branch
         doReturn(prQuery).when(repository).queryPullRequests();
         doReturn(prQuery).when(prQuery).state(eq(GHIssueState.OPEN));
-        doReturn(prQueryList).when(prQuery).list();
+        mockOpenPullRequests(prQuery, "test:example-modernization-metadata", List.of());
 
         doReturn(pr)
                 .when(repository)
@@ -1192,28 +1335,20 @@ public class GHServiceTest {
         GHPullRequest existingPr = Mockito.mock(GHPullRequest.class);
         GHPullRequest toDeletePr = Mockito.mock(GHPullRequest.class);
         GHPullRequestQueryBuilder prQuery = Mockito.mock(GHPullRequestQueryBuilder.class);
-        PagedIterable<?> prQueryList = Mockito.mock(PagedIterable.class);
-        GHCommitPointer head = Mockito.mock(GHCommitPointer.class);
-        GHCommitPointer toDeleteHead = Mockito.mock(GHCommitPointer.class);
 
         doReturn(recipe).when(config).getRecipe();
         doReturn("recipe1").when(recipe).getName();
+        doReturn("test").when(config).getGithubOwner();
         doReturn(null).when(config).getGithubAppTargetInstallationId();
         doReturn(false).when(config).isDraft();
         doReturn(true).when(plugin).hasChangesPushed();
         doReturn(repository).when(plugin).getRemoteRepository(eq(service));
-        doReturn(TemplateUtils.renderBranchName(plugin, recipe)).when(head).getRef();
-        doReturn(head).when(existingPr).getHead();
-
-        // PR to delete
-        doReturn("plugin-modernizer-tool").when(toDeleteHead).getRef();
-        doReturn(toDeleteHead).when(toDeletePr).getHead();
 
-        // Return one open PR that match the branch name
+        // Return one open PR that match the branch name and one legacy PR to delete
         doReturn(prQuery).when(repository).queryPullRequests();
         doReturn(prQuery).when(prQuery).state(eq(GHIssueState.OPEN));
-        doReturn(prQueryList).when(prQuery).list();
-        doReturn(List.of(existingPr, toDeletePr)).when(prQueryList).toList();
+        mockOpenPullRequests(prQuery, "test:" + TemplateUtils.renderBranchName(plugin, recipe), List.of(existingPr));
+        mockOpenPullRequests(prQuery, "test:plugin-modernizer-tool", List.of(toDeletePr));
 
         doReturn(new URL("https://github.com/owner/repo/pull/123"))
                 .when(existingPr)
@@ -1241,24 +1376,18 @@ public class GHServiceTest {
         Recipe recipe = Mockito.mock(Recipe.class);
         GHRepository repository = Mockito.mock(GHRepository.class);
         GHPullRequest existingPr = Mockito.mock(GHPullRequest.class);
-        GHPullRequest toDeletePr = Mockito.mock(GHPullRequest.class);
         GHPullRequestQueryBuilder prQuery = Mockito.mock(GHPullRequestQueryBuilder.class);
-        PagedIterable<?> prQueryList = Mockito.mock(PagedIterable.class);
-        GHCommitPointer head = Mockito.mock(GHCommitPointer.class);
-        GHCommitPointer toDeleteHead = Mockito.mock(GHCommitPointer.class);
 
+        doReturn("test").when(config).getGithubOwner();
         doReturn(null).when(config).getGithubAppTargetInstallationId();
         doReturn("example").when(plugin).getName();
         doReturn(true).when(plugin).hasMetadataChangesPushed();
         doReturn(repository).when(plugin).getRemoteMetadataRepository(eq(service));
-        doReturn("example-modernization-metadata").when(head).getRef();
-        doReturn(head).when(existingPr).getHead();
 
         // Return one open PR that match the branch name
         doReturn(prQuery).when(repository).queryPullRequests();
         doReturn(prQuery).when(prQuery).state(eq(GHIssueState.OPEN));
-        doReturn(prQueryList).when(prQuery).list();
-        doReturn(List.of(existingPr, toDeletePr)).when(prQueryList).toList();
+        mockOpenPullRequests(prQuery, "test:example-modernization-metadata", List.of(existingPr));
 
         doReturn(new URL("https://github.com/owner/repo/pull/123"))
                 .when(existingPr)
@@ -1283,7 +1412,6 @@ public class GHServiceTest {
         GHRepository repository = Mockito.mock(GHRepository.class);
         GHPullRequest pr = Mockito.mock(GHPullRequest.class);
         GHPullRequestQueryBuilder prQuery = Mockito.mock(GHPullRequestQueryBuilder.class);
-        PagedIterable<?> prQueryList = Mockito.mock(PagedIterable.class);
 
         doReturn(recipe).when(config).getRecipe();
         doReturn("recipe1").when(recipe).getName();
@@ -1296,8 +1424,8 @@ public class GHServiceTest {
         // Return no open PR
         doReturn(prQuery).when(repository).queryPullRequests();
         doReturn(prQuery).when(prQuery).state(eq(GHIssueState.OPEN));
-        doReturn(prQueryList).when(prQuery).list();
-        doReturn(List.of()).when(prQueryList).toList();
+        mockOpenPullRequests(prQuery, "test:" + TemplateUtils.renderBranchName(plugin, recipe), List.of());
+        mockOpenPullRequests(prQuery, "test:plugin-modernizer-tool", List.of());
 
         doReturn(pr)
                 .when(repository)
@@ -1308,4 +1436,92 @@ public class GHServiceTest {
         // Test
         service.openPullRequest(plugin, RepoType.PLUGIN);
     }
+
+    @Test
+    public void shouldOnlyMatchPullRequestsFromGithubOwner() throws Exception {
+
+        // Mocks
+        Recipe recipe = Mockito.mock(Recipe.class);
+        GHRepository repository = Mockito.mock(GHRepository.class);
+        GHPullRequest pr = Mockito.mock(GHPullRequest.class);
+        GHPullRequestQueryBuilder prQuery = Mockito.mock(GHPullRequestQueryBuilder.class);
+
+        doReturn(recipe).when(config).getRecipe();
+        doReturn("recipe1").when(recipe).getName();
+        doReturn("test").when(config).getGithubOwner();
+        doReturn(null).when(config).getGithubAppTargetInstallationId();
+        doReturn(false).when(config).isDraft();
+        doReturn(true).when(plugin).hasChangesPushed();
+        doReturn(repository).when(plugin).getRemoteRepository(eq(service));
+
+        // A PR is only open from the same branch of another owner, GitHub doesn't return it for the owner head
+        String branchName = TemplateUtils.renderBranchName(plugin, recipe);
+        doReturn(prQuery).when(repository).queryPullRequests();
+        doReturn(prQuery).when(prQuery).state(eq(GHIssueState.OPEN));
+        mockOpenPullRequests(prQuery, "test:" + branchName, List.of());
+        mockOpenPullRequests(prQuery, "test:plugin-modernizer-tool", List.of());
+
+        doReturn(pr)
+                .when(repository)
+                .createPullRequest(anyString(), eq("test:" + branchName), isNull(), anyString(), eq(true), eq(false));
+        doReturn(new URL("https://github.com/owner/repo/pull/123")).when(pr).getHtmlUrl();
+
+        // Test
+        service.openPullRequest(plugin, RepoType.PLUGIN);
+
+        // Lookups are scoped to the owner and a PR is opened from its branch
+        verify(prQuery, never()).head(not(startsWith("test:")));
+        verify(repository)
+                .createPullRequest(anyString(), eq("test:" + branchName), isNull(), anyString(), eq(true), eq(false));
+    }
+
+    /**
+     * Mock the open pull requests returned for a head
+     * @param prQuery The query of open pull requests
+     * @param head The head in the owner:branch format
+     * @param pullRequests The pull requests to return
+     */
+    private void mockOpenPullRequests(
+            GHPullRequestQueryBuilder prQuery, String head, List<GHPullRequest> pullRequests) throws Exception {
+        GHPullRequestQueryBuilder headQuery = Mockito.mock(GHPullRequestQueryBuilder.class);
+        PagedIterable<?> headQueryList = Mockito.mock(PagedIterable.class);
+        doReturn(headQuery).when(prQuery).head(eq(head));
+        doReturn(headQueryList).when(headQuery).list();
+        doReturn(pullRequests).when(headQueryList).toList();
+    }
+
+    /**
+     * Mock the clone of a repository through the shared object store
+     * @param mockStaticGit The static mock of Git
+     * @return The command fetching the remote into the object store
+     */
+    private FetchCommand mockCloneThroughObjectStore(MockedStatic<Git> mockStaticGit) throws Exception {
+        Git store = Mockito.mock(Git.class);
+        Git clone = Mockito.mock(Git.class);
+        Repository storeRepository = Mockito.mock(Repository.class);
+        ObjectDatabase storeObjectDatabase = Mockito.mock(ObjectDatabase.class);
+        Repository repository = Mockito.mock(Repository.class);
+        FetchCommand storeFetch = Mockito.mock(FetchCommand.class, Answers.RETURNS_SELF);
+        FetchCommand cloneFetch = Mockito.mock(FetchCommand.class, Answers.RETURNS_SELF);
+        InitCommand init = Mockito.mock(InitCommand.class, Answers.RETURNS_SELF);
+        RemoteAddCommand remoteAdd = Mockito.mock(RemoteAddCommand.class, Answers.RETURNS_SELF);
+        CheckoutCommand checkout = Mockito.mock(CheckoutCommand.class, Answers.RETURNS_SELF);
+
+        // Object store already exists
+        Files.createDirectories(pluginDir.resolve(Settings.GIT_OBJECT_STORE));
+        doReturn(pluginDir).when(config).getCachePath();
+
+        mockStaticGit.when(() -> Git.open(any(File.class))).thenReturn(store);
+        mockStaticGit.when(Git::init).thenReturn(init);
+        doReturn(storeFetch).when(store).fetch();
+        doReturn(storeRepository).when(store).getRepository();
+        doReturn(storeObjectDatabase).when(storeRepository).getObjectDatabase();
+        doReturn(clone).when(init).call();
+        doReturn(repository).when(clone).getRepository();
+        doReturn(pluginDir.resolve("clone/.git").toFile()).when(repository).getDirectory();
+        doReturn(remoteAdd).when(clone).remoteAdd();
+        doReturn(cloneFetch).when(clone).fetch();
+        doReturn(checkout).when(clone).checkout();
+        return storeFetch;
+    }
 }
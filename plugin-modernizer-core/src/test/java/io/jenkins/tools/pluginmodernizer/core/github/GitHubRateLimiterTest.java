@@ -0,0 +1,92 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import io.jenkins.tools.pluginmodernizer.core.github.GitHubRateLimiter.Lane;
+import io.jenkins.tools.pluginmodernizer.core.github.GitHubRateLimiter.Priority;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+public class GitHubRateLimiterTest {
+
+    private static final Instant NOW = Instant.ofEpochSecond(1_700_000_000);
+
+    private final GitHubRateLimiter rateLimiter = new GitHubRateLimiter(Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    public void shouldProceedWhileBudgetIsUnknown() {
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire(Lane.CORE, Priority.NEW_WORK));
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire(Lane.CORE, Priority.IN_FLIGHT));
+    }
+
+    @Test
+    public void shouldWaitForResetOnceBudgetIsExhausted() {
+        rateLimiter.update(Lane.CORE, response(200, "core", "100", "1", "60", null));
+
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire(Lane.CORE, Priority.IN_FLIGHT));
+        assertEquals(Duration.ofSeconds(61), rateLimiter.tryAcquire(Lane.CORE, Priority.IN_FLIGHT));
+        // Other lanes have their own budget
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire(Lane.SEARCH, Priority.IN_FLIGHT));
+    }
+
+    @Test
+    public void shouldKeepReserveForInFlightWork() {
+        rateLimiter.update(Lane.CORE, response(200, "core", "100", "10", "60", null));
+
+        assertEquals(Duration.ofSeconds(61), rateLimiter.tryAcquire(Lane.CORE, Priority.NEW_WORK));
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire(Lane.CORE, Priority.IN_FLIGHT));
+    }
+
+    @Test
+    public void shouldUpdateLaneOfResource() {
+        rateLimiter.update(Lane.CORE, response(200, "search", "30", "0", "10", null));
+
+        assertEquals(Duration.ofSeconds(11), rateLimiter.tryAcquire(Lane.SEARCH, Priority.IN_FLIGHT));
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire(Lane.CORE, Priority.IN_FLIGHT));
+    }
+
+    @Test
+    public void shouldWaitForSecondaryRateLimit() {
+        rateLimiter.update(Lane.CORE, response(403, "core", "5000", "4000", "3600", "30"));
+
+        assertEquals(Duration.ofSeconds(30), rateLimiter.tryAcquire(Lane.CORE, Priority.IN_FLIGHT));
+    }
+
+    @Test
+    public void shouldFindLaneOfRequest() throws Exception {
+        assertEquals(Lane.CORE, Lane.of(URI.create("https://api.github.com/repos/jenkinsci/git-plugin").toURL()));
+        assertEquals(Lane.SEARCH, Lane.of(URI.create("https://api.github.com/search/issues").toURL()));
+        assertEquals(Lane.GRAPHQL, Lane.of(URI.create("https://api.github.com/graphql").toURL()));
+    }
+
+    /**
+     * Mock a response with rate limit headers
+     * @param status The status code
+     * @param resource The rate limit resource
+     * @param limit The limit
+     * @param remaining The remaining requests
+     * @param resetInSeconds Seconds until the reset
+     * @param retryAfter The Retry-After header, can be null
+     * @return The response
+     */
+    private static GitHubConnectorResponse response(
+            int status, String resource, String limit, String remaining, String resetInSeconds, String retryAfter) {
+        GitHubConnectorResponse response = mock(GitHubConnectorResponse.class);
+        doReturn(status).when(response).statusCode();
+        doReturn(resource).when(response).header("X-RateLimit-Resource");
+        doReturn(limit).when(response).header("X-RateLimit-Limit");
+        doReturn(remaining).when(response).header("X-RateLimit-Remaining");
+        doReturn(String.valueOf(NOW.getEpochSecond() + Long.parseLong(resetInSeconds)))
+                .when(response)
+                .header("X-RateLimit-Reset");
+        doReturn(retryAfter).when(response).header("Retry-After");
+        return response;
+    }
+}
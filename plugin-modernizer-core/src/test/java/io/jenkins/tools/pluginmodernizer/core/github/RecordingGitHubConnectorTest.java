@@ -0,0 +1,61 @@
+package io.jenkins.tools.pluginmodernizer.core.github;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import io.jenkins.tools.pluginmodernizer.core.jfr.FlightRecording;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.connector.GitHubConnectorRequest;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+public class RecordingGitHubConnectorTest {
+
+    private static final String API_CALL_EVENT = "io.jenkins.tools.pluginmodernizer.GitHubApiCall";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldRecordApiCalls() throws Exception {
+        GitHubConnector delegate = mock(GitHubConnector.class);
+        GitHubConnectorRequest request = mock(GitHubConnectorRequest.class);
+        GitHubConnectorResponse response = mock(GitHubConnectorResponse.class);
+        doReturn("GET").when(request).method();
+        doReturn(URI.create("https://api.github.com/repos/jenkinsci/git-plugin").toURL())
+                .when(request)
+                .url();
+        doReturn(200).when(response).statusCode();
+        doReturn("4999").when(response).header("X-RateLimit-Remaining");
+        doReturn(response).when(delegate).send(request);
+
+        Path file = tempDir.resolve("recordings").resolve("run.jfr");
+        try (FlightRecording ignored = FlightRecording.start(file)) {
+            assertSame(response, new RecordingGitHubConnector(delegate).send(request));
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(API_CALL_EVENT))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals("GET", events.get(0).getString("method"));
+        assertEquals("/repos/jenkinsci/git-plugin", events.get(0).getString("endpoint"));
+        assertEquals(200, events.get(0).getInt("status"));
+        assertEquals(4999, events.get(0).getInt("rateLimitRemaining"));
+    }
+
+    @Test
+    public void shouldParseRemainingRateLimit() {
+        assertEquals(42, RecordingGitHubConnector.parseRemaining(" 42 "));
+        assertEquals(-1, RecordingGitHubConnector.parseRemaining(null));
+        assertEquals(-1, RecordingGitHubConnector.parseRemaining("unknown"));
+    }
+}
@@ -12,6 +12,7 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -119,6 +120,58 @@ public class CacheManagerTest {
         assertNotNull(cacheManager.get(cacheManager.root(), cacheKey, TestCacheEntry.class));
     }
 
+    @Test
+    void testExpiration() {
+        String cacheKey = "testKey";
+        TestCacheEntry value = new TestCacheEntry(cacheManager, TestCacheEntry.class, cacheKey, cachePath);
+        cacheManager.put(value);
+
+        Instant expiration = cacheManager.getExpiration(value);
+        assertFalse(cacheManager.isExpired(expiration));
+        assertFalse(cacheManagerWithoutExpiredEntries().isExpired(expiration));
+        assertTrue(cacheManagerWithExpiredEntries().isExpired(expiration));
+        assertEquals(Instant.MAX, new CacheManager(cachePath, Clock.systemUTC(), false).getExpiration(value));
+    }
+
+    @Test
+    void testPeekAndTouchExpiredEntry() {
+        String cacheKey = "testKey";
+        CacheManager managerWithExpiredEntries = cacheManagerWithExpiredEntries();
+        TestCacheEntry value = new TestCacheEntry(cacheManager, TestCacheEntry.class, cacheKey, cachePath);
+        value.setValidators("\"v1\"", null);
+        cacheManager.put(value);
+
+        assertNull(managerWithExpiredEntries.get(cacheManager.root(), cacheKey, TestCacheEntry.class));
+        TestCacheEntry expired = managerWithExpiredEntries.peek(cacheManager.root(), cacheKey, TestCacheEntry.class);
+        assertNotNull(expired);
+        assertEquals("\"v1\"", expired.getETag());
+
+        managerWithExpiredEntries.touch(expired);
+        assertNotNull(managerWithExpiredEntries.get(cacheManager.root(), cacheKey, TestCacheEntry.class));
+        assertNull(cacheManager.peek(cacheManager.root(), "missing", TestCacheEntry.class));
+    }
+
+    @Test
+    void testMaxAgePerKey() {
+        String cacheKey = "testKey";
+        CacheManager managerWithExpiredEntries = cacheManagerWithExpiredEntries();
+        TestCacheEntry value = new TestCacheEntry(cacheManager, TestCacheEntry.class, cacheKey, cachePath);
+        cacheManager.put(value);
+
+        assertEquals(CacheManager.EXPIRATION, managerWithExpiredEntries.getMaxAge(cacheKey));
+        assertEquals(Duration.ofDays(1), managerWithExpiredEntries.getMaxAge(CacheManager.INSTALLATION_STATS_KEY));
+        assertNull(managerWithExpiredEntries.get(cacheManager.root(), cacheKey, TestCacheEntry.class));
+
+        // Configured max ages override the defaults
+        CacheManager managerWithMaxAges = new CacheManager(
+                cachePath,
+                Clock.fixed(systemUTC().instant().plus(61, MINUTES), ZoneId.systemDefault()),
+                true,
+                Map.of(cacheKey, Duration.ofHours(2), CacheManager.INSTALLATION_STATS_KEY, Duration.ofHours(6)));
+        assertEquals(Duration.ofHours(6), managerWithMaxAges.getMaxAge(CacheManager.INSTALLATION_STATS_KEY));
+        assertNotNull(managerWithMaxAges.get(cacheManager.root(), cacheKey, TestCacheEntry.class));
+    }
+
     @Test
     void testRemove() {
         Path cachePath = tempDir.resolve("cache");
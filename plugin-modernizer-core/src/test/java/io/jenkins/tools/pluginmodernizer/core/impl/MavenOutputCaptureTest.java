@@ -0,0 +1,52 @@
+package io.jenkins.tools.pluginmodernizer.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MavenOutputCaptureTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldTruncateLogFileOnceThenAppend() throws Exception {
+        Plugin plugin = Plugin.build("example");
+        Path logFile = tempDir.resolve(plugin.getMavenLogFile());
+
+        Files.createDirectories(logFile.getParent());
+        Files.writeString(logFile, "[INFO] Output of a previous run\n");
+
+        try (MavenOutputCapture capture = new MavenOutputCapture(plugin, logFile, true)) {
+            capture.getOutputHandler().consumeLine("[INFO] Scanning for projects...");
+            capture.getErrorHandler().consumeLine("Unexpected error");
+        }
+        try (MavenOutputCapture capture = new MavenOutputCapture(plugin, logFile, false)) {
+            capture.getOutputHandler().consumeLine("[INFO] BUILD SUCCESS");
+        }
+
+        assertEquals(
+                List.of("[INFO] Scanning for projects...", "Unexpected error", "[INFO] BUILD SUCCESS"),
+                Files.readAllLines(logFile));
+    }
+
+    @Test
+    public void shouldDetectErrorAndSummaryLines() {
+        assertTrue(MavenOutputCapture.isErrorLine("[ERROR] Failed to execute goal"));
+        assertFalse(MavenOutputCapture.isErrorLine("[INFO] Building example 1.0"));
+
+        assertTrue(MavenOutputCapture.isSummaryLine("[INFO] BUILD FAILURE"));
+        assertTrue(MavenOutputCapture.isSummaryLine("[INFO] Total time:  12.345 s"));
+        assertTrue(MavenOutputCapture.isSummaryLine("[INFO] Tests run: 4, Failures: 0, Errors: 0, Skipped: 0"));
+        assertFalse(MavenOutputCapture.isSummaryLine(
+                "[INFO] Tests run: 4, Failures: 0, Errors: 0, Skipped: 0, Time elapsed: 0.1 s -- in ExampleTest"));
+        assertFalse(MavenOutputCapture.isSummaryLine("[INFO] Downloading from central"));
+    }
+}
@@ -7,15 +7,18 @@ import static org.mockito.Mockito.*;
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
 import io.jenkins.tools.pluginmodernizer.core.github.GHService;
+import io.jenkins.tools.pluginmodernizer.core.model.JDK;
 import io.jenkins.tools.pluginmodernizer.core.model.Plugin;
 import io.jenkins.tools.pluginmodernizer.core.model.PluginVersionData;
 import io.jenkins.tools.pluginmodernizer.core.model.Recipe;
+import io.jenkins.tools.pluginmodernizer.core.utils.JdkFetcher;
 import io.jenkins.tools.pluginmodernizer.core.utils.PluginService;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +43,9 @@ class PluginModernizerTest {
     @Mock
     private CacheManager cacheManager;
 
+    @Mock
+    private JdkFetcher jdkFetcher;
+
     @Mock
     private Logger LOG;
 
@@ -164,6 +170,8 @@ class PluginModernizerTest {
 
         Plugin plugin1 = mock(Plugin.class);
         Plugin plugin2 = mock(Plugin.class);
+        when(plugin1.getName()).thenReturn("plugin1");
+        when(plugin2.getName()).thenReturn("plugin2");
         List<Plugin> mockPlugins = Arrays.asList(plugin1, plugin2);
 
         when(config.getPlugins()).thenReturn(mockPlugins);
@@ -186,7 +194,10 @@ class PluginModernizerTest {
         // Verify public method interactions
         verify(pluginModernizerSpy).validate();
         verify(cacheManager).init();
+        verify(pluginService).prefetch();
         verify(pluginService).getPluginVersionData();
+        // No cached metadata, only the JDK running OpenRewrite is needed
+        verify(jdkFetcher).prefetch(Set.of(JDK.JAVA_21));
     }
 
     @Test
@@ -220,6 +231,36 @@ class PluginModernizerTest {
         verify(pluginService).existsInUpdateCenter(plugin);
     }
 
+    @Test
+    void testStartProcessesPluginsConcurrently() throws Exception {
+        // Setup
+        Plugin plugin1 = Plugin.build("non-existent-plugin-1");
+        Plugin plugin2 = Plugin.build("non-existent-plugin-2");
+        Plugin plugin3 = Plugin.build("non-existent-plugin-3");
+        when(config.getPlugins()).thenReturn(Arrays.asList(plugin1, plugin2, plugin3));
+        when(config.getParallelism()).thenReturn(2);
+        when(pluginService.existsInUpdateCenter(any(Plugin.class))).thenReturn(false);
+
+        // Mock recipe
+        Recipe mockRecipe = mock(Recipe.class);
+        when(mockRecipe.getName()).thenReturn("MockRecipe");
+        when(config.getRecipe()).thenReturn(mockRecipe);
+
+        PluginModernizer pluginModernizerSpy = spy(pluginModernizer);
+        doNothing().when(pluginModernizerSpy).validate();
+        doNothing().when(cacheManager).init();
+        when(pluginService.getPluginVersionData()).thenReturn(mock(PluginVersionData.class));
+
+        // Execute
+        pluginModernizerSpy.start();
+
+        // All plugins are processed once
+        verify(pluginService).existsInUpdateCenter(plugin1);
+        verify(pluginService).existsInUpdateCenter(plugin2);
+        verify(pluginService).existsInUpdateCenter(plugin3);
+        verify(pluginService, never()).extractRepoName(any(Plugin.class));
+    }
+
     @Test
     void testProcessContinuesForPluginInUpdateCenter() throws Exception {
         // Setup
@@ -0,0 +1,26 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.junit.jupiter.api.Test;
+
+public class DetachedPluginsTest {
+
+    @Test
+    public void shouldFindPluginsByPackageAndClassName() {
+        assertEquals(DetachedPlugins.MAVEN_PLUGIN, DetachedPlugins.byName().get("hudson.maven"));
+        assertEquals(DetachedPlugins.MAILER, DetachedPlugins.byName().get("hudson.tasks.Mailer"));
+        assertNull(DetachedPlugins.byName().get("hudson.tasks"));
+    }
+
+    @Test
+    public void shouldBeDetachedAfterLastCoreRelease() {
+        assertTrue(DetachedPlugins.JAXB.isDetachedIn(new ComparableVersion("2.440.3")));
+        assertFalse(DetachedPlugins.JAXB.isDetachedIn(new ComparableVersion("2.162")));
+        assertFalse(DetachedPlugins.INSTANCE_IDENTITY.isDetachedIn(new ComparableVersion("2.346.3")));
+    }
+}
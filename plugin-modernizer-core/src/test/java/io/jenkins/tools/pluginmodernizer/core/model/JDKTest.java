@@ -1,7 +1,11 @@
 package io.jenkins.tools.pluginmodernizer.core.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 import java.util.Set;
@@ -169,6 +173,24 @@ public class JDKTest {
         assertEquals(JDK.JAVA_25, JDK.get("2.492.1").get(2));
     }
 
+    @Test
+    public void max() {
+        assertEquals(JDK.JAVA_8, JDK.max("2.163"));
+        assertEquals(JDK.JAVA_17, JDK.max("2.361.1"));
+        assertEquals(JDK.JAVA_21, JDK.max("2.462.3"));
+        assertEquals(JDK.JAVA_25, JDK.max("2.479.1"));
+    }
+
+    @Test
+    public void shouldMemoizeBuildableJdk() {
+        List<JDK> jdks = JDK.get("2.440.3");
+        assertSame(jdks, JDK.get("2.440.3"));
+        assertThrows(UnsupportedOperationException.class, () -> jdks.add(JDK.JAVA_8));
+        assertTrue(JDK.JAVA_17.supported("2.440.3"));
+        assertFalse(JDK.JAVA_8.supported("2.440.3"));
+        assertTrue(JDK.JAVA_8.supported(null));
+    }
+
     @Test
     public void getLatestTestHarnessVersion() {
         assertEquals("2225.v04fa_3929c9b_5", JDK.getLatestTestHarnessVersion("2.426.1"));
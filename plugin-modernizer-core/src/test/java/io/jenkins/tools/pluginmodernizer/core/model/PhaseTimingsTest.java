@@ -0,0 +1,53 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class PhaseTimingsTest {
+
+    @Test
+    public void shouldAccumulateDurationsByPhase() {
+        PhaseTimings timings = new PhaseTimings();
+        assertTrue(timings.isEmpty());
+
+        timings.record(PhaseTimings.Phase.FETCH, Duration.ofMillis(1200));
+        timings.record(PhaseTimings.Phase.COLLECT_METADATA, Duration.ofMillis(3000));
+        timings.record(PhaseTimings.Phase.COLLECT_METADATA, Duration.ofMillis(500));
+        assertEquals("ok", timings.time(PhaseTimings.Phase.VERIFY, () -> "ok"));
+
+        assertFalse(timings.isEmpty());
+        assertEquals(List.of("fetch", "collectMetadata", "verify"), List.copyOf(timings.getDurations().keySet()));
+        assertEquals(3500L, timings.getDurations().get("collectMetadata"));
+        assertEquals(Map.of("fetch", 1, "collectMetadata", 2, "verify", 1), timings.getCounts());
+        assertTrue(timings.summary().startsWith("fetch=1.2s, collectMetadata=3.5s, verify="));
+    }
+
+    @Test
+    public void shouldRecordFailedPhase() {
+        PhaseTimings timings = new PhaseTimings();
+        assertThrows(
+                ModernizerException.class, () -> timings.time(PhaseTimings.Phase.COMPILE, () -> {
+                    throw new ModernizerException("Build failed");
+                }));
+        assertEquals(Map.of("compile", 1), timings.getCounts());
+    }
+
+    @Test
+    public void shouldRecordMavenExecutionsAndFetchedBytes() {
+        PhaseTimings timings = new PhaseTimings();
+        timings.addMavenExecution("clean verify", 1, Duration.ofSeconds(42));
+        timings.addBytesFetched(1024);
+        timings.addBytesFetched(2048);
+
+        assertEquals(
+                List.of(new PhaseTimings.MavenExecution("clean verify", 1, 42000)), timings.getMavenExecutions());
+        assertEquals(3072, timings.getBytesFetched());
+    }
+}
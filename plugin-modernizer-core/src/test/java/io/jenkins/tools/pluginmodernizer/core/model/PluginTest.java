@@ -5,11 +5,18 @@ import static org.mockito.Mockito.*;
 
 import io.jenkins.tools.pluginmodernizer.core.config.Config;
 import io.jenkins.tools.pluginmodernizer.core.config.Settings;
+import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
 import io.jenkins.tools.pluginmodernizer.core.github.GHService;
+import io.jenkins.tools.pluginmodernizer.core.impl.CacheManager;
 import io.jenkins.tools.pluginmodernizer.core.impl.MavenInvoker;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.mockito.Mock;
@@ -170,13 +177,38 @@ public class PluginTest {
     }
 
     @Test
-    public void testRewrite() {
+    public void testRewrite(@TempDir Path tempDir) throws Exception {
         Plugin plugin = Plugin.build("example");
         plugin.withConfig(config);
         doReturn(false).when(config).isFetchMetadataOnly();
+        doReturn(tempDir).when(config).getCachePath();
+
+        // Metadata of a previous run
+        Path staleMetadata = tempDir.resolve("example/sources/target").resolve(CacheManager.PLUGIN_METADATA_CACHE_KEY);
+        Files.createDirectories(staleMetadata.getParent());
+        Files.writeString(staleMetadata, "{}");
+
         plugin.runOpenRewrite(mavenInvoker);
         verify(mavenInvoker).invokeRewrite(plugin);
         verifyNoMoreInteractions(mavenInvoker);
+        assertFalse(Files.exists(staleMetadata));
+    }
+
+    @Test
+    public void shouldParsePomAgainAfterRewrite(@TempDir Path tempDir) throws Exception {
+        Plugin plugin = Plugin.build("example", tempDir);
+        plugin.withConfig(config);
+        doReturn(false).when(config).isFetchMetadataOnly();
+        Path pom = tempDir.resolve("pom.xml");
+        Files.writeString(pom, pomWithJenkinsVersion("2.440.3"));
+        assertEquals("2.440.3", plugin.getPom().getJenkinsVersion());
+
+        doAnswer(invocation -> Files.writeString(pom, pomWithJenkinsVersion("2.479.1")))
+                .when(mavenInvoker)
+                .invokeRewrite(plugin);
+        plugin.runOpenRewrite(mavenInvoker);
+
+        assertEquals("2.479.1", plugin.getPom().getJenkinsVersion());
     }
 
     @Test
@@ -189,6 +221,82 @@ public class PluginTest {
         verifyNoMoreInteractions(mavenInvoker);
     }
 
+    @Test
+    public void shouldRestoreMetadataStashedAfterRewrite(@TempDir Path tempDir) {
+        Plugin plugin = Plugin.build("example", tempDir.resolve("example"));
+        CacheManager cacheManager = new CacheManager(tempDir.resolve("cache"));
+        PluginMetadata modernized = new PluginMetadata(new CacheManager(tempDir.resolve("example/target")));
+        modernized.setPluginName("example");
+        modernized.save();
+
+        plugin.stashModernizedMetadata(cacheManager);
+        assertFalse(plugin.hasMetadata());
+
+        assertTrue(plugin.restoreModernizedMetadata(cacheManager));
+        assertEquals("example", plugin.getMetadata().getPluginName());
+        assertEquals(CacheManager.PLUGIN_METADATA_CACHE_KEY, plugin.getMetadata().getKey());
+
+        // Stash is consumed
+        assertFalse(plugin.restoreModernizedMetadata(cacheManager));
+    }
+
+    @Test
+    public void shouldNotStashMetadataMissingFromTarget(@TempDir Path tempDir) {
+        Plugin plugin = Plugin.build("example", tempDir.resolve("example"));
+        CacheManager cacheManager = new CacheManager(tempDir.resolve("cache"));
+
+        plugin.stashModernizedMetadata(cacheManager);
+
+        assertFalse(plugin.restoreModernizedMetadata(cacheManager));
+    }
+
+    @Test
+    public void shouldReuseMetadataOfSameRevision(@TempDir Path tempDir) throws Exception {
+        CacheManager cacheManager = new CacheManager(tempDir.resolve("cache"));
+        Plugin plugin = Plugin.build("example");
+        plugin.withConfig(config);
+        doReturn("1.0").when(config).getVersion();
+        doReturn("abc").when(ghService).getHeadCommit(plugin, RepoType.PLUGIN);
+        PluginMetadata metadata = new PluginMetadata(cacheManager, plugin);
+        metadata.setPluginName("example");
+        metadata.save();
+        plugin.setMetadata(metadata);
+
+        plugin.resolveMetadataFingerprint(ghService);
+        assertNotNull(plugin.getMetadataFingerprint());
+        plugin.storeRevisionMetadata(cacheManager);
+
+        // Expired entries of the revision are still reused
+        Path stored = tempDir.resolve("cache/example/metadata/" + plugin.getMetadataFingerprint() + ".json");
+        Files.setLastModifiedTime(stored, FileTime.from(Instant.now().minus(Duration.ofDays(30))));
+        plugin.setMetadata(null);
+        assertTrue(plugin.loadRevisionMetadata(cacheManager));
+        assertEquals("example", plugin.getMetadata().getPluginName());
+        assertEquals(CacheManager.PLUGIN_METADATA_CACHE_KEY, plugin.getMetadata().getKey());
+
+        // Another revision has no metadata
+        doReturn("def").when(ghService).getHeadCommit(plugin, RepoType.PLUGIN);
+        plugin.resolveMetadataFingerprint(ghService);
+        assertFalse(plugin.loadRevisionMetadata(cacheManager));
+
+        // Only the metadata of the latest revision is kept
+        plugin.storeRevisionMetadata(cacheManager);
+        assertFalse(Files.exists(stored));
+        assertTrue(Files.exists(
+                tempDir.resolve("cache/example/metadata/" + plugin.getMetadataFingerprint() + ".json")));
+    }
+
+    @Test
+    public void shouldNotReuseMetadataOfUnknownRevision() {
+        CacheManager cacheManager = mock(CacheManager.class);
+        Plugin plugin = Plugin.build("example");
+        plugin.withConfig(config);
+        plugin.resolveMetadataFingerprint(ghService);
+        assertNull(plugin.getMetadataFingerprint());
+        assertFalse(plugin.loadRevisionMetadata(cacheManager));
+        verifyNoInteractions(cacheManager);
+    }
+
     @Test
     public void testFork() {
         Plugin plugin = Plugin.build("example");
@@ -410,4 +518,20 @@ public class PluginTest {
         Marker actualMarker = plugin.getMarker();
         assertEquals(expectedMarker, actualMarker);
     }
+
+    /**
+     * Minimal pom with the given Jenkins version
+     * @param jenkinsVersion The Jenkins version
+     * @return The pom content
+     */
+    private String pomWithJenkinsVersion(String jenkinsVersion) {
+        return """
+                <project>
+                  <properties>
+                    <jenkins.version>%s</jenkins.version>
+                  </properties>
+                </project>
+                """
+                .formatted(jenkinsVersion);
+    }
 }
@@ -0,0 +1,68 @@
+package io.jenkins.tools.pluginmodernizer.core.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RunReportTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldSummarizePhasesAcrossPlugins() {
+        Plugin first = Plugin.build("first");
+        first.getTimings().record(PhaseTimings.Phase.FETCH, Duration.ofMillis(100));
+        first.getTimings().record(PhaseTimings.Phase.VERIFY, Duration.ofMillis(30000));
+        Plugin second = Plugin.build("second");
+        second.getTimings().record(PhaseTimings.Phase.FETCH, Duration.ofMillis(300));
+        Plugin notProcessed = Plugin.build("not-processed");
+
+        RunReport report = RunReport.of(Instant.now(), "SetupJenkinsfile", List.of(first, second, notProcessed));
+
+        assertEquals(2, report.getPlugins().size());
+        assertEquals("skipped", report.getPlugins().get(0).status());
+        assertEquals(new RunReport.PhaseSummary(2, 400, 100, 300, 300), report.getPhases().get("fetch"));
+        assertEquals(new RunReport.PhaseSummary(1, 30000, 30000, 30000, 30000), report.getPhases().get("verify"));
+    }
+
+    @Test
+    public void shouldComputeNearestRankPercentiles() {
+        List<Long> values = LongStream.rangeClosed(1, 20).boxed().toList();
+        assertEquals(10, RunReport.percentile(values, 50));
+        assertEquals(19, RunReport.percentile(values, 95));
+        assertEquals(7, RunReport.percentile(List.of(7L), 95));
+    }
+
+    @Test
+    public void shouldWriteJsonAndCsvReports() throws Exception {
+        Plugin plugin = Plugin.build("example");
+        plugin.getTimings().record(PhaseTimings.Phase.FETCH, Duration.ofMillis(100));
+        plugin.getTimings().record(PhaseTimings.Phase.COMPILE, Duration.ofMillis(2000));
+        plugin.getTimings().addMavenExecution("clean compile", 0, Duration.ofMillis(1900));
+        plugin.getTimings().addBytesFetched(4096);
+        Path directory = tempDir.resolve("reports");
+
+        Path json = RunReport.of(Instant.parse("2026-01-02T03:04:05Z"), "SetupJenkinsfile", List.of(plugin))
+                .write(directory);
+
+        assertEquals(directory.resolve("run-20260102-030405.json"), json);
+        String content = Files.readString(json);
+        assertTrue(content.contains("\"recipe\": \"SetupJenkinsfile\""));
+        assertTrue(content.contains("\"goals\": \"clean compile\""));
+        assertEquals(
+                List.of(
+                        "plugin,status,bytes_fetched,phase,calls,duration_ms",
+                        "example,skipped,4096,fetch,1,100",
+                        "example,skipped,4096,compile,1,2000"),
+                Files.readAllLines(directory.resolve("run-20260102-030405.csv")));
+    }
+}
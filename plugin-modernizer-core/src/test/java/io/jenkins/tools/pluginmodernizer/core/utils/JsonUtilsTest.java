@@ -2,19 +2,30 @@ package io.jenkins.tools.pluginmodernizer.core.utils;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
 import io.jenkins.tools.pluginmodernizer.core.extractor.MetadataFlag;
 import io.jenkins.tools.pluginmodernizer.core.extractor.PluginMetadata;
 import io.jenkins.tools.pluginmodernizer.core.model.JDK;
+import io.jenkins.tools.pluginmodernizer.core.model.PluginVersionData;
 import io.jenkins.tools.pluginmodernizer.core.model.PreconditionError;
+import java.net.URL;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
 @Execution(ExecutionMode.CONCURRENT)
+@WireMockTest
 public class JsonUtilsTest {
 
+    @TempDir
+    private Path tempDir;
+
     @Test
     public void testMetaDataToJson() {
         PluginMetadata metadata = new PluginMetadata();
@@ -27,6 +38,71 @@ public class JsonUtilsTest {
                 JsonUtils.toJson(metadata));
     }
 
+    @Test
+    public void testToJsonFileAndBack() {
+        PluginMetadata metadata = new PluginMetadata();
+        metadata.setKey("plugin-api-key");
+        metadata.setFlags(Set.of(MetadataFlag.IS_API_PLUGIN));
+        metadata.setJenkinsVersion("2.479.3");
+        Path file = tempDir.resolve("nested").resolve("plugin-metadata.json");
+        JsonUtils.toJsonFile(metadata, file);
+        PluginMetadata result = JsonUtils.fromJson(file, PluginMetadata.class);
+        assertEquals(JsonUtils.toJson(metadata), JsonUtils.toJson(result));
+    }
+
+    @Test
+    public void testFromUrlKeepOnlyDeclaredFields(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        // language=json
+        String json =
+                """
+                {
+                  "plugins": {
+                    "foo": {
+                      "1.0": {
+                        "name": "foo",
+                        "version": "1.0",
+                        "sha256": "abc",
+                        "dependencies": [{"name": "bar", "optional": false, "version": "2.0"}],
+                        "requiredCore": "2.479.3"
+                      }
+                    }
+                  },
+                  "updateCenterVersion": "1"
+                }
+                """;
+        wmRuntimeInfo
+                .getWireMock()
+                .register(WireMock.get(WireMock.urlEqualTo("/plugin-versions.json"))
+                        .willReturn(WireMock.okJson(json)));
+        PluginVersionData data = JsonUtils.fromUrl(
+                new URL("http://localhost:%d/plugin-versions.json".formatted(wmRuntimeInfo.getHttpPort())),
+                PluginVersionData.class);
+        assertEquals(
+                new PluginVersionData.PluginVersionPlugin("foo", "1.0"),
+                data.getPlugins().get("foo").get("1.0"));
+    }
+
+    @Test
+    public void testFromUrlRevalidateWithETag(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+        WireMock wireMock = wmRuntimeInfo.getWireMock();
+        URL url = new URL("http://localhost:%d/versions.json".formatted(wmRuntimeInfo.getHttpPort()));
+        wireMock.register(WireMock.get(WireMock.urlEqualTo("/versions.json"))
+                .withHeader("If-None-Match", WireMock.absent())
+                .willReturn(WireMock.okJson("{\"plugins\": {}}")
+                        .withHeader("ETag", "\"v1\"")
+                        .withHeader("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT")));
+        wireMock.register(WireMock.get(WireMock.urlEqualTo("/versions.json"))
+                .withHeader("If-None-Match", WireMock.equalTo("\"v1\""))
+                .willReturn(WireMock.aResponse().withStatus(304)));
+
+        PluginVersionData data = JsonUtils.fromUrl(url, PluginVersionData.class, null);
+        assertEquals("\"v1\"", data.getETag());
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", data.getLastModified());
+
+        // Not modified
+        assertSame(data, JsonUtils.fromUrl(url, PluginVersionData.class, data));
+    }
+
     @Test
     public void testEquals() {
         String jsonString1 =
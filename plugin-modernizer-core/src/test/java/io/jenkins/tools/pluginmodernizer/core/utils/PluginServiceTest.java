@@ -279,6 +279,68 @@ class PluginServiceTest {
                 pluginInstallationStatsData.getPlugins().size());
     }
 
+    @Test
+    public void shouldParseUpdateCenterDataOnce() throws Exception {
+        CacheManager cacheManager = Mockito.mock(CacheManager.class);
+        Path cacheRoot = Mockito.mock(Path.class);
+        Config config = Mockito.mock(Config.class);
+        UpdateCenterData updateCenterData =
+                setup(config, cacheManager, cacheRoot).getLeft();
+        setupUpdateCenterMocks(updateCenterData, cacheManager, cacheRoot);
+
+        PluginService pluginService = getService(config, cacheManager);
+        Plugin plugin = Plugin.build("valid-plugin");
+        assertEquals(true, pluginService.existsInUpdateCenter(plugin));
+        assertEquals(false, pluginService.isDeprecated(plugin));
+        assertEquals("1.0", pluginService.extractVersion(plugin));
+
+        Mockito.verify(cacheManager, Mockito.times(1))
+                .get(cacheRoot, CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.class);
+    }
+
+    @Test
+    public void shouldReloadUpdateCenterDataWhenExpired() throws Exception {
+        CacheManager cacheManager = Mockito.mock(CacheManager.class);
+        Path cacheRoot = Mockito.mock(Path.class);
+        Config config = Mockito.mock(Config.class);
+        UpdateCenterData updateCenterData =
+                setup(config, cacheManager, cacheRoot).getLeft();
+        setupUpdateCenterMocks(updateCenterData, cacheManager, cacheRoot);
+        doReturn(true).when(cacheManager).isExpired(Mockito.any());
+
+        PluginService pluginService = getService(config, cacheManager);
+        Plugin plugin = Plugin.build("valid-plugin");
+        pluginService.existsInUpdateCenter(plugin);
+        pluginService.existsInUpdateCenter(plugin);
+
+        Mockito.verify(cacheManager, Mockito.times(2))
+                .get(cacheRoot, CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.class);
+    }
+
+    @Test
+    public void shouldPrefetchDatasetsAndIgnoreFailures() throws Exception {
+        CacheManager cacheManager = Mockito.mock(CacheManager.class);
+        Path cacheRoot = Mockito.mock(Path.class);
+        Config config = Mockito.mock(Config.class);
+        Triple<UpdateCenterData, HealthScoreData, PluginInstallationStatsData> data =
+                setup(config, cacheManager, cacheRoot);
+        setupUpdateCenterMocks(data.getLeft(), cacheManager, cacheRoot);
+        setupHealthScoreMocks(data.getMiddle(), cacheManager, cacheRoot);
+
+        // Other datasets are not cached and cannot be downloaded
+        PluginService pluginService = getService(config, cacheManager);
+        pluginService.prefetch();
+
+        // Loaded datasets are kept in memory
+        Plugin plugin = Plugin.build("valid-plugin");
+        assertEquals(true, pluginService.existsInUpdateCenter(plugin));
+        assertEquals(100d, pluginService.extractScore(plugin));
+        Mockito.verify(cacheManager, Mockito.times(1))
+                .get(cacheRoot, CacheManager.UPDATE_CENTER_CACHE_KEY, UpdateCenterData.class);
+        Mockito.verify(cacheManager, Mockito.times(1))
+                .get(cacheRoot, CacheManager.HEALTH_SCORE_KEY, HealthScoreData.class);
+    }
+
     /**
      * Get the update center service to test
      * @param cacheManager Cache manager
@@ -0,0 +1,72 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ResumableInputStreamTest {
+
+    private final byte[] content = "0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void shouldResumeFromLastByteRead() throws Exception {
+        List<Long> offsets = new ArrayList<>();
+        ResumableInputStream.Opener opener = offset -> {
+            offsets.add(offset);
+            // Each connection fails after 10 bytes
+            return failingAfter(offset, 10);
+        };
+
+        try (ResumableInputStream in = new ResumableInputStream(opener, 3, Duration.ZERO)) {
+            assertArrayEquals(content, in.readAllBytes());
+            assertEquals(content.length, in.getPosition());
+        }
+        assertEquals(List.of(0L, 10L, 20L, 30L), offsets);
+    }
+
+    @Test
+    public void shouldFailAfterMaxResumes() throws Exception {
+        ResumableInputStream.Opener opener = offset -> failingAfter(offset, 5);
+
+        try (ResumableInputStream in = new ResumableInputStream(opener, 2, Duration.ZERO)) {
+            IOException e = assertThrows(IOException.class, in::readAllBytes);
+            assertEquals("Connection reset", e.getMessage());
+            assertEquals(15, in.getPosition());
+        }
+    }
+
+    /**
+     * Stream of the content from an offset failing after some bytes
+     * @param offset The offset
+     * @param failAfter Number of bytes read before failing
+     * @return The stream
+     */
+    private InputStream failingAfter(long offset, int failAfter) {
+        ByteArrayInputStream delegate =
+                new ByteArrayInputStream(content, (int) offset, content.length - (int) offset);
+        return new InputStream() {
+            private int read;
+
+            @Override
+            public int read() throws IOException {
+                if (read == failAfter) {
+                    throw new IOException("Connection reset");
+                }
+                int b = delegate.read();
+                if (b >= 0) {
+                    read++;
+                }
+                return b;
+            }
+        };
+    }
+}
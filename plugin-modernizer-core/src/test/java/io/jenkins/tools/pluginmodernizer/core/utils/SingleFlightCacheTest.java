@@ -0,0 +1,74 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightCacheTest {
+
+    @Test
+    public void shouldLoadOnceForConcurrentLookups() throws Exception {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlightCache.Loader<String, String> loader = key -> {
+            loads.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return key.toUpperCase();
+        };
+
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            results.add(executor.submit(() -> cache.get("repo", loader)));
+            started.await(10, TimeUnit.SECONDS);
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> cache.get("repo", loader)));
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("REPO", result.get(10, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void shouldCacheNullButNotFailures() throws Exception {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.get("user", key -> {
+            loads.incrementAndGet();
+            return null;
+        }));
+        assertNull(cache.get("user", key -> "unexpected"));
+        assertEquals(1, loads.get());
+
+        assertThrows(IOException.class, () -> cache.get("repo", key -> {
+            throw new IOException("Not found");
+        }));
+        assertEquals("repo", cache.get("repo", key -> key));
+
+        cache.invalidate("repo");
+        assertEquals("reloaded", cache.get("repo", key -> "reloaded"));
+        cache.clear();
+        assertEquals("other", cache.get("user", key -> "other"));
+    }
+}
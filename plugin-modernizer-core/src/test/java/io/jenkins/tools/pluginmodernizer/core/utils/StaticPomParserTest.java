@@ -0,0 +1,127 @@
+package io.jenkins.tools.pluginmodernizer.core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jenkins.tools.pluginmodernizer.core.model.ModernizerException;
+import io.jenkins.tools.pluginmodernizer.core.model.PreconditionError;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StaticPomParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldReadSnapshotOfNamespacedPom() throws Exception {
+        // language=xml
+        String pom =
+                """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                  <parent>
+                    <groupId>org.jenkins-ci.plugins</groupId>
+                    <artifactId>plugin</artifactId>
+                    <version>1.580</version>
+                  </parent>
+                  <artifactId>example</artifactId>
+                  <packaging>hpi</packaging>
+                  <properties>
+                    <jenkins.version>${jenkins.baseline}.1</jenkins.version>
+                    <jenkins.baseline>2.479</jenkins.baseline>
+                    <java.level>7</java.level>
+                  </properties>
+                  <scm>
+                    <connection>scm:git:https://github.com/jenkinsci/example-plugin.git</connection>
+                  </scm>
+                  <repositories>
+                    <repository>
+                      <id>repo.jenkins-ci.org</id>
+                      <url>https://repo.jenkins-ci.org/public/</url>
+                    </repository>
+                    <repository>
+                      <id>legacy</id>
+                      <url> http://repo.example.org/ </url>
+                    </repository>
+                  </repositories>
+                  <dependencies>
+                    <dependency>
+                      <artifactId>not-a-project-artifact</artifactId>
+                    </dependency>
+                  </dependencies>
+                </project>
+                """;
+        StaticPomParser parser = parse(pom);
+
+        assertEquals("example", parser.getArtifactId());
+        assertEquals("hpi", parser.getPackaging());
+        assertEquals("org.jenkins-ci.plugins", parser.getParentGroupId());
+        assertEquals("plugin", parser.getParentArtifactId());
+        assertEquals("1.580", parser.getParentVersion());
+        assertEquals("${jenkins.baseline}.1", parser.getJenkinsVersion());
+        assertEquals("2.479", parser.getBaseline());
+        assertEquals("7", parser.getProperty("java.level"));
+        assertEquals("scm:git:https://github.com/jenkinsci/example-plugin.git", parser.getScmConnection());
+        assertEquals(
+                List.of("https://repo.jenkins-ci.org/public/", "http://repo.example.org/"), parser.getRepositoryUrls());
+        assertNull(parser.getGithubRepoProperty());
+        assertNull(parser.getScmConnectionProperty());
+
+        assertFalse(PreconditionError.NO_POM.isApplicable(parser));
+        assertTrue(PreconditionError.OLDER_JAVA_LEVEL.isApplicable(parser));
+        assertTrue(PreconditionError.PARENT_POM_1X.isApplicable(parser));
+        assertTrue(PreconditionError.MAVEN_REPOSITORIES_HTTP.isApplicable(parser));
+    }
+
+    @Test
+    public void shouldReadSnapshotOfMinimalPom() throws Exception {
+        // language=xml
+        String pom =
+                """
+                <project>
+                  <parent>
+                    <version>5.7</version>
+                  </parent>
+                  <properties>
+                    <gitHubRepo>jenkinsci/foobar</gitHubRepo>
+                    <java.level>8</java.level>
+                  </properties>
+                  <repositories>
+                    <repository>
+                      <url>${repo.url}</url>
+                    </repository>
+                  </repositories>
+                </project>
+                """;
+        StaticPomParser parser = parse(pom);
+
+        assertNull(parser.getArtifactId());
+        assertNull(parser.getPackaging());
+        assertNull(parser.getJenkinsVersion());
+        assertEquals("jenkinsci/foobar", parser.getGithubRepoProperty());
+
+        assertTrue(PreconditionError.NO_POM.isApplicable(null));
+        assertFalse(PreconditionError.OLDER_JAVA_LEVEL.isApplicable(parser));
+        assertFalse(PreconditionError.PARENT_POM_1X.isApplicable(parser));
+        assertFalse(PreconditionError.MAVEN_REPOSITORIES_HTTP.isApplicable(parser));
+    }
+
+    @Test
+    public void shouldFailOnInvalidPom() throws Exception {
+        assertThrows(ModernizerException.class, () -> new StaticPomParser(tempDir.resolve("missing.xml").toString()));
+        assertThrows(ModernizerException.class, () -> parse("<project><artifactId>example</project>"));
+    }
+
+    private StaticPomParser parse(String content) throws Exception {
+        Path pom = tempDir.resolve("pom.xml");
+        Files.writeString(pom, content);
+        return new StaticPomParser(pom.toString());
+    }
+}
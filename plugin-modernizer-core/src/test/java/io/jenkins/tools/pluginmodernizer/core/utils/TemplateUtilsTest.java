@@ -92,6 +92,31 @@ public class TemplateUtilsTest {
         assertEquals("Bump bom to 3208.vb_21177d4b_cd9", result);
     }
 
+    @Test
+    public void testRenderAllUpgradeBomVersion() {
+
+        // Mocks
+        Plugin plugin = mock(Plugin.class);
+        PluginMetadata metadata = mock(PluginMetadata.class);
+        Recipe recipe = mock(Recipe.class);
+
+        doReturn("example").when(plugin).getName();
+        doReturn(metadata).when(plugin).getMetadata();
+        doReturn("3208.vb_21177d4b_cd9").when(metadata).getBomVersion();
+        doReturn("io.jenkins.tools.pluginmodernizer.UpgradeBomVersion")
+                .when(recipe)
+                .getName();
+
+        // Test
+        TemplateUtils.RenderedTemplates result = TemplateUtils.renderAll(plugin, recipe);
+
+        // Assert
+        assertEquals("plugin-modernizer/upgradebomversion", result.branchName());
+        assertEquals("Bump bom to 3208.vb_21177d4b_cd9", result.commitMessage());
+        assertEquals("Bump bom to 3208.vb_21177d4b_cd9", result.pullRequestTitle());
+        assertTrue(result.pullRequestBody().startsWith("Hello `example` developers!"));
+    }
+
     @Test
     public void testFriendlyCommitUpgradeBomVersion() {
 